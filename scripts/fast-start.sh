@@ -0,0 +1,122 @@
+#!/usr/bin/env bash
+# Builds the fast-start layout of the application and measures its startup.
+#
+#   scripts/fast-start.sh train      extracts the layered jar and records the class-data sharing (AppCDS) archive
+#   scripts/fast-start.sh benchmark  starts the plain jar and the fast-start layout RUNS times each and reports the
+#                                    time until the first request was served and the resident memory at that point
+#   scripts/fast-start.sh run        starts the fast-start layout
+#
+# The first request is FIRST_REQUEST_URL, GET /api/groups by default. It has to be a real endpoint: the fast-start
+# profile initializes beans lazily, so the controllers, services, repositories and JSON mapping are only created
+# by the first request that needs them, and a health check would neither pay for them in the measurement nor load
+# their classes into the archive.
+#
+# Every mode needs the database of application.properties (DB_IP, DB_PORT, ...). Extra application arguments can be
+# passed in APP_ARGS, e.g. APP_ARGS="--server.port=8081".
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=target/study-buddy-be-0.0.1-SNAPSHOT.jar
+LAYOUT=target/fast-start
+ARCHIVE=$LAYOUT/application.jsa
+MAIN_CLASS=com.ps.studybuddy.StudyBuddyBeApplication
+PORT=${PORT:-8080}
+RUNS=${RUNS:-5}
+FIRST_REQUEST_URL=${FIRST_REQUEST_URL:-"http://localhost:$PORT/api/groups"}
+APP_ARGS=${APP_ARGS:-}
+
+build() {
+  if [ ! -f "$JAR" ]; then
+    ./mvnw -B -q -DskipTests package
+  fi
+  rm -rf "$LAYOUT"
+  mkdir -p "$LAYOUT"
+  java -Djarmode=layertools -jar "$JAR" extract --destination "$LAYOUT/layers"
+  # CDS only archives classes loaded from jars by the application class loader, so the application classes are
+  # packed into a jar and started from a plain class path instead of the nested jars of the boot loader
+  (cd "$LAYOUT/layers/application/BOOT-INF/classes" && jar cf ../../../../application.jar .)
+  find "$LAYOUT/layers" -path '*/BOOT-INF/lib/*.jar' | sort > "$LAYOUT/libraries.txt"
+}
+
+class_path() {
+  echo -n "$LAYOUT/application.jar"
+  while read -r library; do
+    echo -n ":$library"
+  done < "$LAYOUT/libraries.txt"
+}
+
+fast_start_command() {
+  echo "java $1 -cp $(class_path) $MAIN_CLASS --spring.profiles.active=fast-start --server.port=$PORT $APP_ARGS"
+}
+
+train() {
+  build
+  # the training run stops itself after the first request, the archive is written when the JVM exits
+  $(fast_start_command "-XX:ArchiveClassesAtExit=$ARCHIVE") --startup.exit-after-first-request=true &
+  local pid=$!
+  wait_for_first_request "$pid" > /dev/null
+  wait "$pid" || true
+  echo "Recorded $ARCHIVE ($(du -h "$ARCHIVE" | cut -f1))"
+}
+
+# prints the milliseconds until the first request was answered and the resident memory of the process in kB
+wait_for_first_request() {
+  local pid=$1
+  local start=${2:-}
+  until curl -s -o /dev/null "$FIRST_REQUEST_URL"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "The application stopped before serving a request" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local end
+  end=$(date +%s%3N)
+  local rss
+  rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status" 2> /dev/null || echo 0)
+  echo "$((end - ${start:-end})) $rss"
+}
+
+measure() {
+  local name=$1
+  local command=$2
+  local total_millis=0
+  local total_rss=0
+  for run in $(seq 1 "$RUNS"); do
+    local start
+    start=$(date +%s%3N)
+    $command > "$LAYOUT/$name-$run.log" 2>&1 &
+    local pid=$!
+    read -r millis rss < <(wait_for_first_request "$pid" "$start")
+    kill "$pid"
+    wait "$pid" || true
+    echo "$name run $run: first request after $millis ms, resident memory $((rss / 1024)) MB"
+    total_millis=$((total_millis + millis))
+    total_rss=$((total_rss + rss))
+  done
+  printf '%-12s average: first request after %d ms, resident memory %d MB\n' \
+    "$name" $((total_millis / RUNS)) $((total_rss / RUNS / 1024))
+}
+
+benchmark() {
+  if [ ! -f "$ARCHIVE" ]; then
+    train
+  fi
+  measure default "java -jar $JAR --server.port=$PORT $APP_ARGS"
+  measure fast-start "$(fast_start_command "-XX:SharedArchiveFile=$ARCHIVE -Xshare:auto")"
+}
+
+case "${1:-benchmark}" in
+  train) train ;;
+  benchmark) benchmark ;;
+  run)
+    if [ ! -f "$ARCHIVE" ]; then
+      train
+    fi
+    exec $(fast_start_command "-XX:SharedArchiveFile=$ARCHIVE -Xshare:auto")
+    ;;
+  *)
+    echo "Usage: $0 [train|benchmark|run]" >&2
+    exit 1
+    ;;
+esac
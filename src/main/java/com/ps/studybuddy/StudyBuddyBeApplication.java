@@ -3,6 +3,7 @@ package com.ps.studybuddy;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -14,6 +15,7 @@ import java.util.Collections;
 import static com.ps.studybuddy.security.constant.SecurityConstant.LOCAL_HOST;
 
 @SpringBootApplication
+@EnableScheduling
 public class StudyBuddyBeApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,189 @@
+package com.ps.studybuddy.cache;
+
+import com.ps.studybuddy.domain.dtos.GroupDetailsDTO;
+import com.ps.studybuddy.domain.dtos.TopicDTO;
+import com.ps.studybuddy.domain.dtos.UserDTO;
+import com.ps.studybuddy.events.GroupEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache of GroupDetailsDTO by group id. Entries are evicted once the transaction that changed the group commits,
+ * on this node right away and on the other nodes through the GroupDetailsEvictionBroadcaster.
+ * <p>
+ * A read that started before such a commit can finish after the eviction, so every put carries the read stamp taken
+ * before the group was read and is dropped when the group was evicted since. A cached entry is therefore never older
+ * than the last eviction this node received; the other nodes lag behind by the delivery time of the broadcast, and
+ * the expiry after write bounds the age of an entry whose broadcast was lost. The loaders read the primary, a read
+ * from a replica that has not applied the evicting change yet would pass the stamp check with the previous state.
+ */
+@Component
+public class GroupDetailsCache {
+    public static final String GROUP_DETAILS_CACHE = "groupDetails";
+    // evictions are counted per stripe of ids, an eviction of another id of the stripe only costs a dropped put
+    private static final int EVICTION_STRIPES = 1024;
+
+    private final Cache cache;
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+    private final GroupDetailsEvictionBroadcaster broadcaster;
+
+    @Autowired
+    public GroupDetailsCache(CacheManager cacheManager, GroupDetailsEvictionBroadcaster broadcaster) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(GROUP_DETAILS_CACHE));
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Every group event is caused by a change of the group, so the details of the group are evicted
+     * @param event the committed group event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupEvent(GroupEvent event) {
+        evict(Collections.singleton(event.getGroupId()));
+    }
+
+    /**
+     * Evicts the groups after the current transaction commits, or right away when there is no transaction
+     * @param groupIds ids of the changed groups
+     */
+    public void evictAfterCommit(Collection<UUID> groupIds) {
+        if (groupIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(groupIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(groupIds);
+            }
+        });
+    }
+
+    /**
+     * @param groupId id of the group
+     * @return the cached details of the group, null when they are not cached
+     */
+    public GroupDetailsDTO getIfPresent(UUID groupId) {
+        return this.cache.get(groupId, GroupDetailsDTO.class);
+    }
+
+    /**
+     * Returns the cached details of the group, or loads and caches them
+     * @param groupId id of the group
+     * @param loader reads the details of the group from the primary, e.g. GroupService.findById
+     * @return the details of the group
+     */
+    public GroupDetailsDTO get(UUID groupId, Supplier<GroupDetailsDTO> loader) {
+        GroupDetailsDTO cached = getIfPresent(groupId);
+        if (cached != null) {
+            return cached;
+        }
+        long readStamp = readStamp(groupId);
+        GroupDetailsDTO dto = loader.get();
+        put(dto, readStamp);
+        return dto;
+    }
+
+    /**
+     * Must be taken before the group is read, and handed to put with the details read afterwards
+     * @param groupId id of the group
+     * @return the read stamp of the group
+     */
+    public long readStamp(UUID groupId) {
+        return this.evictions.get(stripe(groupId));
+    }
+
+    /**
+     * Caches the details unless the group was evicted since the read stamp was taken, in which case they may
+     * predate the change that caused the eviction
+     * @param dto the details of the group
+     * @param readStamp the read stamp taken before the group was read
+     */
+    public void put(GroupDetailsDTO dto, long readStamp) {
+        int stripe = stripe(dto.getId());
+        if (this.evictions.get(stripe) != readStamp) {
+            return;
+        }
+        this.cache.put(dto.getId(), dto);
+        // an eviction between the check and the put may have run before the put, so it is undone here
+        if (this.evictions.get(stripe) != readStamp) {
+            this.cache.evict(dto.getId());
+        }
+    }
+
+    /**
+     * Evicts the groups from the cache of this node only, used for evictions received from the other nodes
+     * @param groupIds ids of the changed groups
+     */
+    public void evictLocally(Collection<UUID> groupIds) {
+        for (UUID groupId : groupIds) {
+            // counted before the entry is removed, so a put that passed its check is either undone or evicted
+            this.evictions.incrementAndGet(stripe(groupId));
+            this.cache.evict(groupId);
+        }
+    }
+
+    private static int stripe(UUID groupId) {
+        return Math.floorMod(groupId.hashCode(), EVICTION_STRIPES);
+    }
+
+    private void evict(Collection<UUID> groupIds) {
+        evictLocally(groupIds);
+        this.broadcaster.broadcast(groupIds);
+    }
+
+    /**
+     * Rough number of bytes a cached GroupDetailsDTO keeps on the heap, used to bound the cache by size instead of
+     * by number of groups
+     * @param dto the cached group details
+     * @return estimated size in bytes
+     */
+    public static int estimateSize(GroupDetailsDTO dto) {
+        int size = 256 + sizeOf(dto.getName()) + sizeOf(dto.getDescription());
+        if (dto.getLocation() != null) {
+            size += 96 + sizeOf(dto.getLocation().getName());
+        }
+        if (dto.getAdmin() != null) {
+            size += sizeOf(dto.getAdmin());
+        }
+        if (dto.getMembers() != null) {
+            for (UserDTO member : dto.getMembers()) {
+                size += sizeOf(member);
+            }
+        }
+        if (dto.getMeetingDates() != null) {
+            size += 32 * dto.getMeetingDates().size();
+        }
+        if (dto.getTopics() != null) {
+            for (TopicDTO topic : dto.getTopics()) {
+                size += 64 + sizeOf(topic.getName()) + sizeOf(topic.getDescription());
+            }
+        }
+        return size;
+    }
+
+    private static int sizeOf(UserDTO user) {
+        return 128 + sizeOf(user.getFirstName()) + sizeOf(user.getLastName()) + sizeOf(user.getUsername())
+                + sizeOf(user.getEmail()) + sizeOf(user.getAvatarColor()) + sizeOf(user.getRole());
+    }
+
+    private static int sizeOf(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+}
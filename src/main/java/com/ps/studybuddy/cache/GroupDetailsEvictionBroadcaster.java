@@ -0,0 +1,11 @@
+package com.ps.studybuddy.cache;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Tells the other nodes which groups changed, so they drop their cached details of those groups.
+ */
+public interface GroupDetailsEvictionBroadcaster {
+    void broadcast(Collection<UUID> groupIds);
+}
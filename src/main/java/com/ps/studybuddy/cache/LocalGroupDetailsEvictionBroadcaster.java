@@ -0,0 +1,18 @@
+package com.ps.studybuddy.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Single-node deployments have no other caches to evict.
+ */
+@Component
+@ConditionalOnProperty(name = "events.transport", havingValue = "in-memory", matchIfMissing = true)
+public class LocalGroupDetailsEvictionBroadcaster implements GroupDetailsEvictionBroadcaster {
+    @Override
+    public void broadcast(Collection<UUID> groupIds) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.ps.studybuddy.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Broadcasts evictions through a fanout exchange. Every node binds its own auto-delete queue to the exchange, so
+ * every node, including the sender, receives every eviction.
+ */
+@Configuration
+@Lazy(false)
+@ConditionalOnProperty(name = "events.transport", havingValue = "rabbit")
+public class RabbitGroupDetailsEvictionBroadcaster implements GroupDetailsEvictionBroadcaster {
+    public static final String GROUP_DETAILS_EVICTIONS_EXCHANGE = "studybuddy.group-details-evictions";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final GroupDetailsCache groupDetailsCache;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public RabbitGroupDetailsEvictionBroadcaster(RabbitTemplate rabbitTemplate, @Lazy GroupDetailsCache groupDetailsCache) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.groupDetailsCache = groupDetailsCache;
+    }
+
+    @Bean
+    public static AnonymousQueue groupDetailsEvictionQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public static Declarables groupDetailsEvictionBindings(AnonymousQueue groupDetailsEvictionQueue) {
+        FanoutExchange exchange = new FanoutExchange(GROUP_DETAILS_EVICTIONS_EXCHANGE);
+        return new Declarables(exchange, BindingBuilder.bind(groupDetailsEvictionQueue).to(exchange));
+    }
+
+    @Override
+    public void broadcast(Collection<UUID> groupIds) {
+        try {
+            this.rabbitTemplate.convertAndSend(GROUP_DETAILS_EVICTIONS_EXCHANGE, "", groupIds.toArray(new UUID[0]));
+        } catch (AmqpException e) {
+            // the other nodes serve the stale details until they expire
+            LOGGER.error("Could not broadcast the eviction of groups " + groupIds + ": " + e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = "#{groupDetailsEvictionQueue.name}")
+    public void receive(UUID[] groupIds) {
+        this.groupDetailsCache.evictLocally(Arrays.asList(groupIds));
+    }
+}
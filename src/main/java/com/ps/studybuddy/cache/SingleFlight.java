@@ -0,0 +1,91 @@
+package com.ps.studybuddy.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent loads of the same key. The first caller runs the load on its own thread, the callers that
+ * arrive while it runs wait for it and get the same result or the same exception. Nothing is kept once the load
+ * finished, caching the result is up to the loader.
+ * @param <K> type of the key
+ * @param <V> type of the loaded value
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCalls;
+    private final Counter coalescedCalls;
+    private final DistributionSummary waitersPerFlight;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaderCalls = Counter.builder("single.flight.calls")
+                .description("Calls that ran the load themselves")
+                .tags("name", name, "outcome", "leader")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("single.flight.calls")
+                .description("Calls that waited for the load of another caller")
+                .tags("name", name, "outcome", "coalesced")
+                .register(meterRegistry);
+        this.waitersPerFlight = DistributionSummary.builder("single.flight.waiters")
+                .description("Callers that shared one load")
+                .tags("name", name)
+                .register(meterRegistry);
+        meterRegistry.gauge("single.flight.in.flight", Tags.of("name", name),
+                this.inFlight, ConcurrentMap::size);
+    }
+
+    /**
+     * Runs the loader, or waits for the loader of the caller that is already loading the same key
+     * @param key the key to load
+     * @param loader loads the value of the key
+     * @return the loaded value
+     */
+    public V load(K key, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> existing = this.inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.waiters.incrementAndGet();
+            this.coalescedCalls.increment();
+            return await(existing.result);
+        }
+        this.leaderCalls.increment();
+        try {
+            V value = loader.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, flight);
+            this.waitersPerFlight.record(flight.waiters.get());
+        }
+    }
+
+    private V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
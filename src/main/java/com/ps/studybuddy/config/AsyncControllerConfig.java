@@ -0,0 +1,23 @@
+package com.ps.studybuddy.config;
+
+import com.ps.studybuddy.web.ControllerExecutor;
+import com.ps.studybuddy.web.ControllerPoolHandlerAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+@Configuration
+@ConditionalOnProperty(name = "async-controllers.enabled", havingValue = "true")
+public class AsyncControllerConfig {
+    @Bean
+    public WebMvcRegistrations controllerPoolRegistrations(ControllerExecutor controllerExecutor) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new ControllerPoolHandlerAdapter(controllerExecutor);
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.ps.studybuddy.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ps.studybuddy.cache.GroupDetailsCache;
+import com.ps.studybuddy.cache.SingleFlight;
+import com.ps.studybuddy.domain.dtos.GroupDetailsDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Application level caches. They are used directly through GroupDetailsCache rather than through caching
+ * annotations, the entity caches are Hibernate's second-level cache configured in ehcache.xml.
+ */
+@Configuration
+public class CacheConfig {
+    @Bean
+    public CacheManager cacheManager(@Value("${group-details.cache.maximum-weight-bytes}") long maximumWeightBytes,
+                                     @Value("${group-details.cache.expire-after-write-minutes}") long expireAfterWriteMinutes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(GroupDetailsCache.GROUP_DETAILS_CACHE, Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .weigher((Object id, Object dto) -> GroupDetailsCache.estimateSize((GroupDetailsDTO) dto))
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    /**
+     * Concurrent reads of a group that is not cached yet share one load
+     */
+    @Bean
+    public SingleFlight<UUID, GroupDetailsDTO> groupDetailsSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(GroupDetailsCache.GROUP_DETAILS_CACHE, meterRegistry);
+    }
+}
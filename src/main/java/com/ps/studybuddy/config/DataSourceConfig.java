@@ -0,0 +1,87 @@
+package com.ps.studybuddy.config;
+
+import com.ps.studybuddy.monitoring.QueryStatsListener;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${database.replica.url:}'.isEmpty()")
+    @ConfigurationProperties("database.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${database.replica.url}") String url,
+                                              @Value("${database.replica.user}") String username,
+                                              @Value("${database.replica.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The data source used by JPA. Without a configured replica every connection comes from the primary pool,
+     * otherwise read-only transactions are routed to the replica pool. Every statement is counted in the
+     * QueryStats of the request that executed it.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource) {
+        DataSource replica = replicaDataSource.getIfAvailable(() -> primaryDataSource);
+        QueryStatsListener queryStatsListener = new QueryStatsListener();
+        return ProxyDataSourceBuilder
+                .create(new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replica)))
+                .name("studybuddy")
+                .listener(queryStatsListener)
+                .methodListener(queryStatsListener)
+                .proxyResultSet()
+                .build();
+    }
+
+    /**
+     * With a replica the read-only transactions must not fill the Hibernate caches, see ReplicaAwareJpaDialect.
+     * Without one every transaction reads the primary and the default dialect is kept.
+     */
+    @Bean
+    @ConditionalOnExpression("!'${database.replica.url:}'.isEmpty()")
+    public static BeanPostProcessor replicaAwareJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean) {
+                    ((LocalContainerEntityManagerFactoryBean) bean).setJpaDialect(new ReplicaAwareJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+}
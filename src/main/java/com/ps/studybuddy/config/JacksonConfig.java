@@ -0,0 +1,18 @@
+package com.ps.studybuddy.config;
+
+import com.ps.studybuddy.domain.dtos.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+    /**
+     * DTOs that support sparse fieldsets carry a Jackson filter, responses that are not wrapped in a
+     * MappingJacksonValue with a FieldSelection serialize all of their fields
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+        return builder -> builder.filters(FieldSelection.all().toFilterProvider());
+    }
+}
@@ -0,0 +1,53 @@
+package com.ps.studybuddy.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.EntityManager;
+import java.sql.SQLException;
+
+/**
+ * Read-only transactions read from the replica, which may lag behind the primary. Their sessions only read the
+ * second-level and query caches and never put into them, otherwise a lagging replica read could replace an entry the
+ * primary just wrote and keep the stale state cached until the entry expires. The caches are filled by the
+ * read-write transactions, which read the primary.
+ */
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition) throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReadOnlyTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData) {
+            ReadOnlyTransactionData readOnlyData = (ReadOnlyTransactionData) transactionData;
+            readOnlyData.session.setCacheMode(readOnlyData.previousCacheMode);
+            super.cleanupTransaction(readOnlyData.transactionData);
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private static class ReadOnlyTransactionData {
+        private final Object transactionData;
+        private final Session session;
+        private final CacheMode previousCacheMode;
+
+        private ReadOnlyTransactionData(Object transactionData, Session session, CacheMode previousCacheMode) {
+            this.transactionData = transactionData;
+            this.session = session;
+            this.previousCacheMode = previousCacheMode;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ps.studybuddy.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends the connections of read-only transactions to the read replica and everything else to the primary. When the
+ * replica cannot hand out a connection the primary is used instead, so a replica outage only costs the offloading.
+ * It has to sit behind a LazyConnectionDataSourceProxy, otherwise the connection is fetched before the transaction
+ * is marked as read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final DataSource primaryDataSource;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource) {
+        this.primaryDataSource = primaryDataSource;
+        setTargetDataSources(Map.of(PRIMARY, primaryDataSource, REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            if (!REPLICA.equals(determineCurrentLookupKey())) {
+                throw e;
+            }
+            LOGGER.warn("Read replica unavailable, falling back to the primary: " + e.getMessage());
+            return this.primaryDataSource.getConnection();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ps.studybuddy.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.ps.studybuddy.monitoring.QueryStatsInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    private final QueryStatsInterceptor queryStatsInterceptor;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Autowired
+    public WebMvcConfig(QueryStatsInterceptor queryStatsInterceptor,
+                        ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.queryStatsInterceptor = queryStatsInterceptor;
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this.queryStatsInterceptor);
+    }
+
+    /**
+     * Clients that accept application/cbor or application/x-jackson-smile get the binary encoding, the others keep
+     * JSON: the binary converters come after the JSON converter, so a client that accepts any type still gets JSON.
+     * The binary mappers replace the ones Spring registers for the dataformat jars: they share the configuration of
+     * the JSON mapper, write dates as epoch milliseconds and UUIDs as 16 raw bytes.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper cborMapper = binaryObjectMapper().factory(new CBORFactory()).build();
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper smileMapper = binaryObjectMapper().factory(smileFactory).build();
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+    }
+
+    private Jackson2ObjectMapperBuilder binaryObjectMapper() {
+        // the builder bean is a prototype, every call gets its own copy of the JSON configuration
+        return this.objectMapperBuilder.getObject()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
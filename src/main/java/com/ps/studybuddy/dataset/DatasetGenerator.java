@@ -0,0 +1,317 @@
+package com.ps.studybuddy.dataset;
+
+import com.ps.studybuddy.domain.enumeration.GroupRole;
+import com.ps.studybuddy.domain.enumeration.Role;
+import com.ps.studybuddy.services.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.SerializationUtils;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Fills an empty database with a synthetic dataset. Every row is derived from the seed and its own index, so the
+ * rows do not depend on the number of writer threads or on the order the batches are written in. The rows are
+ * written with plain JDBC batches, bypassing Hibernate, by several writers in parallel: first the users and topics,
+ * then the groups with their location, members, topics, meeting dates and dashboard entries.
+ */
+@Component
+public class DatasetGenerator {
+    public static final int GROUPS_PER_FLUSH = 100;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final long KIND_USER = 1;
+    private static final long KIND_TOPIC = 2;
+    private static final long KIND_GROUP = 3;
+    private static final long KIND_LOCATION = 4;
+
+    private static final String INSERT_USER = "insert into app_user (id, created_date, first_name, last_name, username, " +
+            "password, email, avatar_color, role, authorities, is_active, is_not_locked) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TOPIC = "insert into topic (id, created_date, name, description) values (?, ?, ?, ?)";
+    private static final String INSERT_LOCATION = "insert into location (id, name, latitude, longitude) values (?, ?, ?, ?)";
+    private static final String INSERT_GROUP = "insert into app_group (id, created_date, name, description, location_id, " +
+            "admin_id) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEMBER = "insert into group_members (group_id, members_id) values (?, ?)";
+    private static final String INSERT_GROUP_TOPIC = "insert into group_topics (group_id, topic_id) values (?, ?)";
+    private static final String INSERT_MEETING_DATE = "insert into group_meeting_dates (group_id, meeting_dates) values (?, ?)";
+    private static final String INSERT_DASHBOARD_ENTRY = "insert into user_dashboard_entry (user_id, group_id, role, " +
+            "group_name, location_id, location_name, latitude, longitude, next_meeting_date, updated_date) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] FIRST_NAMES = {"Ana", "Andrei", "Maria", "Mihai", "Elena", "Alexandru", "Ioana",
+            "Stefan", "Diana", "Tudor", "Irina", "Vlad", "Raluca", "Radu", "Bianca", "Matei"};
+    private static final String[] LAST_NAMES = {"Popescu", "Ionescu", "Pop", "Dumitru", "Stan", "Stoica", "Gheorghe",
+            "Matei", "Ciobanu", "Rusu", "Munteanu", "Moldovan", "Lungu", "Marin", "Tudor", "Florea"};
+    private static final String[] SUBJECTS = {"algebra", "analysis", "databases", "networks", "compilers", "physics",
+            "chemistry", "biology", "history", "economics", "statistics", "algorithms", "operating-systems", "graphics"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final UserService userService;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, BCryptPasswordEncoder passwordEncoder, UserService userService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.userService = userService;
+    }
+
+    /**
+     * Generates the dataset described by the spec. The tables must not contain rows generated with the same seed.
+     * @param spec the shape of the dataset
+     * @return the number of generated rows per table
+     */
+    public DatasetSummary generate(DatasetSpec spec) {
+        long start = System.currentTimeMillis();
+        Counts counts = new Counts();
+        ExecutorService writers = Executors.newFixedThreadPool(spec.getWriterThreads());
+        try {
+            String passwordHash = this.passwordEncoder.encode(spec.getPassword());
+            byte[] authorities = SerializationUtils.serialize(Role.ROLE_USER.getAuthorities());
+            runInParallel(writers, spec, spec.getUsers(), range -> writeUsers(spec, range, passwordHash, authorities, counts));
+            runInParallel(writers, spec, spec.getTopics(), range -> writeTopics(spec, range, counts));
+            runInParallel(writers, spec, spec.getGroups(), range -> writeGroups(spec, range, counts));
+        } finally {
+            writers.shutdown();
+        }
+        DatasetSummary summary = DatasetSummary.builder()
+                .users(counts.users.get())
+                .topics(counts.topics.get())
+                .groups(counts.groups.get())
+                .memberships(counts.memberships.get())
+                .groupTopics(counts.groupTopics.get())
+                .meetingDates(counts.meetingDates.get())
+                .dashboardEntries(counts.dashboardEntries.get())
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .build();
+        LOGGER.info("Generated dataset " + spec + ": " + summary);
+        return summary;
+    }
+
+    /**
+     * Splits [0, total) into one range per batch and writes the ranges on the writer threads
+     */
+    private void runInParallel(ExecutorService writers, DatasetSpec spec, int total, RangeWriter writer) {
+        int rangeSize = Math.max(spec.getBatchSize(), GROUPS_PER_FLUSH);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < total; from += rangeSize) {
+            int[] range = {from, Math.min(total, from + rangeSize)};
+            futures.add(writers.submit(() -> writer.write(range)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Dataset generation was interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Dataset generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void writeUsers(DatasetSpec spec, int[] range, String passwordHash, byte[] authorities, Counts counts) {
+        List<Object[]> rows = new ArrayList<>(range[1] - range[0]);
+        for (int index = range[0]; index < range[1]; index++) {
+            SplittableRandom random = random(spec, KIND_USER, index);
+            String username = username(spec, index);
+            rows.add(new Object[]{
+                    uuid(spec, KIND_USER, index),
+                    daysBefore(spec, random.nextInt(365 * spec.getMeetingYears() + 1)),
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    username,
+                    passwordHash,
+                    username + "@example.com",
+                    this.userService.stringToColour(username),
+                    Role.ROLE_USER.name(),
+                    authorities,
+                    true,
+                    true
+            });
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_USER, rows);
+        counts.users.addAndGet(rows.size());
+    }
+
+    private void writeTopics(DatasetSpec spec, int[] range, Counts counts) {
+        List<Object[]> rows = new ArrayList<>(range[1] - range[0]);
+        for (int index = range[0]; index < range[1]; index++) {
+            SplittableRandom random = random(spec, KIND_TOPIC, index);
+            String name = SUBJECTS[index % SUBJECTS.length] + "-" + spec.getSeed() + "-" + index;
+            rows.add(new Object[]{
+                    uuid(spec, KIND_TOPIC, index),
+                    daysBefore(spec, random.nextInt(365 * spec.getMeetingYears() + 1)),
+                    name,
+                    "Study group topic about " + name
+            });
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_TOPIC, rows);
+        counts.topics.addAndGet(rows.size());
+    }
+
+    private void writeGroups(DatasetSpec spec, int[] range, Counts counts) {
+        GroupRows rows = new GroupRows();
+        for (int index = range[0]; index < range[1]; index++) {
+            addGroup(spec, index, rows);
+            if (rows.groups.size() == GROUPS_PER_FLUSH) {
+                rows.flush(counts);
+            }
+        }
+        rows.flush(counts);
+    }
+
+    private void addGroup(DatasetSpec spec, int index, GroupRows rows) {
+        SplittableRandom random = random(spec, KIND_GROUP, index);
+        UUID groupId = uuid(spec, KIND_GROUP, index);
+        UUID locationId = uuid(spec, KIND_LOCATION, index);
+        String groupName = "Study group " + spec.getSeed() + "-" + index;
+        String locationName = "Room " + index;
+        double latitude = 46.70 + random.nextDouble() * 0.15;
+        double longitude = 23.50 + random.nextDouble() * 0.20;
+
+        int memberCount = 1 + (int) ((spec.getMaxMembersPerGroup() - 1) * Math.pow(random.nextDouble(), spec.getGroupSizeSkew()));
+        memberCount = Math.min(memberCount, spec.getUsers());
+        Set<Integer> members = new LinkedHashSet<>();
+        while (members.size() < memberCount) {
+            members.add(skewedIndex(random, spec.getUsers(), spec.getMembershipSkew()));
+        }
+        int adminIndex = members.iterator().next();
+
+        int topicCount = Math.min(spec.getTopics(), 1 + random.nextInt(spec.getMaxTopicsPerGroup()));
+        Set<Integer> topics = new LinkedHashSet<>();
+        while (topics.size() < topicCount) {
+            topics.add(skewedIndex(random, spec.getTopics(), spec.getMembershipSkew()));
+        }
+
+        long first = spec.getReferenceDate().toEpochMilli() - spec.getMeetingYears() * 365L * DAY_MILLIS;
+        long span = (spec.getMeetingYears() * 365L + 180) * DAY_MILLIS;
+        int meetingCount = random.nextInt(spec.getMaxMeetingsPerGroup() + 1);
+        Set<Long> meetingDates = new TreeSet<>();
+        for (int i = 0; i < meetingCount; i++) {
+            // whole hours, like the dates picked in the frontend
+            meetingDates.add((first + (long) (random.nextDouble() * span)) / 3_600_000L * 3_600_000L);
+        }
+        Timestamp nextMeetingDate = meetingDates.stream()
+                .filter(date -> date > spec.getReferenceDate().toEpochMilli())
+                .findFirst()
+                .map(Timestamp::new)
+                .orElse(null);
+
+        UUID adminId = uuid(spec, KIND_USER, adminIndex);
+        rows.locations.add(new Object[]{locationId, locationName, latitude, longitude});
+        rows.groups.add(new Object[]{groupId, daysBefore(spec, random.nextInt(365 * spec.getMeetingYears() + 1)),
+                groupName, "Synthetic study group number " + index, locationId, adminId});
+        Timestamp updatedDate = Timestamp.from(spec.getReferenceDate());
+        for (int memberIndex : members) {
+            UUID memberId = uuid(spec, KIND_USER, memberIndex);
+            rows.members.add(new Object[]{groupId, memberId});
+            rows.dashboardEntries.add(new Object[]{memberId, groupId,
+                    (memberIndex == adminIndex ? GroupRole.ADMIN : GroupRole.MEMBER).name(), groupName, locationId,
+                    locationName, latitude, longitude, nextMeetingDate, updatedDate});
+        }
+        for (int topicIndex : topics) {
+            rows.topics.add(new Object[]{groupId, uuid(spec, KIND_TOPIC, topicIndex)});
+        }
+        for (long meetingDate : meetingDates) {
+            rows.meetingDates.add(new Object[]{groupId, new Timestamp(meetingDate)});
+        }
+    }
+
+    /**
+     * Picks an index in [0, bound), low indexes are picked more often the higher the skew is
+     */
+    private int skewedIndex(SplittableRandom random, int bound, double skew) {
+        return Math.min(bound - 1, (int) (bound * Math.pow(random.nextDouble(), skew)));
+    }
+
+    public static String username(DatasetSpec spec, int index) {
+        return "user" + spec.getSeed() + "_" + index;
+    }
+
+    public static UUID userId(DatasetSpec spec, int index) {
+        return uuid(spec, KIND_USER, index);
+    }
+
+    public static UUID groupId(DatasetSpec spec, int index) {
+        return uuid(spec, KIND_GROUP, index);
+    }
+
+    private static SplittableRandom random(DatasetSpec spec, long kind, int index) {
+        return new SplittableRandom(spec.getSeed() * 0x9E3779B97F4A7C15L + kind * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    /**
+     * A version 4 UUID derived from the seed, the kind of row and its index
+     */
+    private static UUID uuid(DatasetSpec spec, long kind, int index) {
+        SplittableRandom random = new SplittableRandom(~(spec.getSeed() * 0x94D049BB133111EBL + kind * 0x9E3779B97F4A7C15L + index));
+        long mostSignificantBits = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private Timestamp daysBefore(DatasetSpec spec, int days) {
+        return new Timestamp(spec.getReferenceDate().toEpochMilli() - days * DAY_MILLIS);
+    }
+
+    @FunctionalInterface
+    private interface RangeWriter {
+        void write(int[] range);
+    }
+
+    private static class Counts {
+        private final AtomicLong users = new AtomicLong();
+        private final AtomicLong topics = new AtomicLong();
+        private final AtomicLong groups = new AtomicLong();
+        private final AtomicLong memberships = new AtomicLong();
+        private final AtomicLong groupTopics = new AtomicLong();
+        private final AtomicLong meetingDates = new AtomicLong();
+        private final AtomicLong dashboardEntries = new AtomicLong();
+    }
+
+    /**
+     * Rows of a few groups, flushed together in foreign key order
+     */
+    private class GroupRows {
+        private final List<Object[]> locations = new ArrayList<>();
+        private final List<Object[]> groups = new ArrayList<>();
+        private final List<Object[]> members = new ArrayList<>();
+        private final List<Object[]> topics = new ArrayList<>();
+        private final List<Object[]> meetingDates = new ArrayList<>();
+        private final List<Object[]> dashboardEntries = new ArrayList<>();
+
+        private void flush(Counts counts) {
+            if (this.groups.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_LOCATION, this.locations);
+            jdbcTemplate.batchUpdate(INSERT_GROUP, this.groups);
+            jdbcTemplate.batchUpdate(INSERT_MEMBER, this.members);
+            jdbcTemplate.batchUpdate(INSERT_GROUP_TOPIC, this.topics);
+            jdbcTemplate.batchUpdate(INSERT_MEETING_DATE, this.meetingDates);
+            jdbcTemplate.batchUpdate(INSERT_DASHBOARD_ENTRY, this.dashboardEntries);
+            counts.groups.addAndGet(this.groups.size());
+            counts.memberships.addAndGet(this.members.size());
+            counts.groupTopics.addAndGet(this.topics.size());
+            counts.meetingDates.addAndGet(this.meetingDates.size());
+            counts.dashboardEntries.addAndGet(this.dashboardEntries.size());
+            this.locations.clear();
+            this.groups.clear();
+            this.members.clear();
+            this.topics.clear();
+            this.meetingDates.clear();
+            this.dashboardEntries.clear();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ps.studybuddy.dataset;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the dataset configured in application-dataset.properties and stops the application, e.g.
+ * java -jar study-buddy-be.jar --spring.profiles.active=dataset --dataset.users=1000000
+ */
+@Component
+@Profile("dataset")
+public class DatasetRunner implements ApplicationRunner {
+    private final DatasetGenerator datasetGenerator;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${dataset.seed}")
+    private long seed;
+    @Value("${dataset.users}")
+    private int users;
+    @Value("${dataset.groups}")
+    private int groups;
+    @Value("${dataset.topics}")
+    private int topics;
+    @Value("${dataset.max-members-per-group}")
+    private int maxMembersPerGroup;
+    @Value("${dataset.max-meetings-per-group}")
+    private int maxMeetingsPerGroup;
+    @Value("${dataset.meeting-years}")
+    private int meetingYears;
+    @Value("${dataset.writer-threads}")
+    private int writerThreads;
+    @Value("${dataset.batch-size}")
+    private int batchSize;
+
+    @Autowired
+    public DatasetRunner(DatasetGenerator datasetGenerator, ConfigurableApplicationContext applicationContext) {
+        this.datasetGenerator = datasetGenerator;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        this.datasetGenerator.generate(DatasetSpec.builder()
+                .seed(this.seed)
+                .users(this.users)
+                .groups(this.groups)
+                .topics(this.topics)
+                .maxMembersPerGroup(this.maxMembersPerGroup)
+                .maxMeetingsPerGroup(this.maxMeetingsPerGroup)
+                .meetingYears(this.meetingYears)
+                .writerThreads(this.writerThreads)
+                .batchSize(this.batchSize)
+                .build());
+        System.exit(SpringApplication.exit(this.applicationContext));
+    }
+}
@@ -0,0 +1,53 @@
+package com.ps.studybuddy.dataset;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Shape of a generated dataset. The same spec always generates the same rows, the reference date included, so
+ * benchmark runs can be repeated against identical data.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class DatasetSpec {
+    @Builder.Default
+    private long seed = 42;
+    @Builder.Default
+    private int users = 100_000;
+    @Builder.Default
+    private int groups = 50_000;
+    @Builder.Default
+    private int topics = 5_000;
+    @Builder.Default
+    private int maxMembersPerGroup = 200;
+    @Builder.Default
+    private int maxTopicsPerGroup = 5;
+    @Builder.Default
+    private int maxMeetingsPerGroup = 150;
+    @Builder.Default
+    private int meetingYears = 3;
+    /**
+     * Exponent of the group size distribution, the higher it is the more groups are small
+     */
+    @Builder.Default
+    private double groupSizeSkew = 3.0;
+    /**
+     * Exponent of the user popularity distribution, the higher it is the more memberships go to the same users
+     */
+    @Builder.Default
+    private double membershipSkew = 2.0;
+    @Builder.Default
+    private String password = "password";
+    @Builder.Default
+    private Instant referenceDate = Instant.now().truncatedTo(ChronoUnit.DAYS);
+    @Builder.Default
+    private int writerThreads = 4;
+    @Builder.Default
+    private int batchSize = 1_000;
+}
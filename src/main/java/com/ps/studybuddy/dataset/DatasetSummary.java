@@ -0,0 +1,20 @@
+package com.ps.studybuddy.dataset;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class DatasetSummary {
+    private long users;
+    private long topics;
+    private long groups;
+    private long memberships;
+    private long groupTopics;
+    private long meetingDates;
+    private long dashboardEntries;
+    private long elapsedMillis;
+}
@@ -0,0 +1,14 @@
+package com.ps.studybuddy.domain.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DashboardDTO {
+    private List<DashboardGroupDTO> groups;
+}
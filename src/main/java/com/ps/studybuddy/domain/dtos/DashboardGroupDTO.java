@@ -0,0 +1,20 @@
+package com.ps.studybuddy.domain.dtos;
+
+import com.ps.studybuddy.domain.enumeration.GroupRole;
+import lombok.*;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DashboardGroupDTO {
+    private UUID groupId;
+    private String groupName;
+    private GroupRole role;
+    private LocationDTO location;
+    private Date nextMeetingDate;
+}
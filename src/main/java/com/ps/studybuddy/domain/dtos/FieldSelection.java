@@ -0,0 +1,74 @@
+package com.ps.studybuddy.domain.dtos;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.ps.studybuddy.exception.domain.InvalidFieldsException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+
+/**
+ * The top-level fields a client asked for through the fields request parameter, e.g. fields=name,nextMeetingDate.
+ * A missing parameter selects every field, so the default representation does not change. The id is always selected.
+ */
+public class FieldSelection {
+    public static final String FILTER_ID = "fieldSelection";
+    public static final String ID_FIELD = "id";
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parses a comma separated list of field names
+     * @param fields the value of the fields parameter, null or blank selects every field
+     * @param allowedFields the fields of the representation
+     * @return FieldSelection
+     * @throws InvalidFieldsException if a field is not part of the representation
+     */
+    public static FieldSelection parse(String fields, Set<String> allowedFields) throws InvalidFieldsException {
+        if (StringUtils.isBlank(fields)) {
+            return ALL;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(ID_FIELD);
+        for (String field : StringUtils.split(fields, ',')) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowedFields.contains(name)) {
+                throw new InvalidFieldsException("Unknown field: " + name + ", the available fields are "
+                        + String.join(", ", new TreeSet<>(allowedFields)));
+            }
+            selected.add(name);
+        }
+        return new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return this.fields == null;
+    }
+
+    public boolean includes(String field) {
+        return this.fields == null || this.fields.contains(field);
+    }
+
+    /**
+     * @return the Jackson filters that leave the fields that were not selected out of the response
+     */
+    public FilterProvider toFilterProvider() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, this.fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(this.fields));
+    }
+}
@@ -0,0 +1,20 @@
+package com.ps.studybuddy.domain.dtos;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * One entry of a batch lookup, in the position of its id in the request. A group that does not exist has found set
+ * to false and no details.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GroupBatchEntryDTO {
+    private UUID id;
+    private boolean found;
+    private GroupDetailsDTO group;
+}
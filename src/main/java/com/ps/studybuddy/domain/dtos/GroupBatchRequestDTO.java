@@ -0,0 +1,15 @@
+package com.ps.studybuddy.domain.dtos;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GroupBatchRequestDTO {
+    private List<UUID> ids;
+}
@@ -1,16 +1,23 @@
 package com.ps.studybuddy.domain.dtos;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Supports sparse fieldsets through the fieldSelection filter. An ObjectMapper that was not built by Spring Boot has
+ * no FilterProvider and fails to serialize this DTO, register FieldSelection.all().toFilterProvider() on it, as
+ * JacksonConfig does for the Boot mapper.
+ */
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@JsonFilter(FieldSelection.FILTER_ID)
 public class GroupDTO {
     private UUID id;
     private String name;
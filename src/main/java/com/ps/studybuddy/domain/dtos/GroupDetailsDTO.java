@@ -1,15 +1,21 @@
 package com.ps.studybuddy.domain.dtos;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+
+/**
+ * Carries the same fieldSelection filter as GroupDTO, so it needs the same FilterProvider to be serialized
+ */
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@JsonFilter(FieldSelection.FILTER_ID)
 public class GroupDetailsDTO {
     private UUID id;
     private String name;
@@ -17,6 +23,7 @@ public class GroupDetailsDTO {
     private LocationDTO location;
     private UserDTO admin;
     private List<UserDTO> members;
+    private long memberCount;
     private List<Date> meetingDates;
     private List<TopicDTO> topics;
 }
@@ -0,0 +1,18 @@
+package com.ps.studybuddy.domain.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A page of the members of a group. The next page is requested with nextCursor, which is null on the last page.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GroupMemberPageDTO {
+    private List<UserDTO> members;
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.ps.studybuddy.domain.dtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class UserImportErrorDTO {
+    private long row;
+    private String username;
+    private String message;
+}
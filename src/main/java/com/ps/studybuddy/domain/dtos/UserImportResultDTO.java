@@ -0,0 +1,18 @@
+package com.ps.studybuddy.domain.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class UserImportResultDTO {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<UserImportErrorDTO> errors;
+}
@@ -0,0 +1,53 @@
+package com.ps.studybuddy.domain.entities;
+
+import com.ps.studybuddy.domain.enumeration.GroupRole;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Read model row of the user dashboard, kept in sync with the groups by DashboardService. It copies the group
+ * columns the dashboard shows, so serving a dashboard never touches app_group, location or the meeting dates.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@IdClass(DashboardEntryId.class)
+@Table(name = "user_dashboard_entry")
+public class DashboardEntry {
+    @Id
+    @Column(name = "user_id")
+    @Type(type = "pg-uuid")
+    private UUID userId;
+    @Id
+    @Column(name = "group_id")
+    @Type(type = "pg-uuid")
+    private UUID groupId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false, length = 16)
+    private GroupRole role;
+    @Column(name = "group_name", nullable = false)
+    private String groupName;
+    @Column(name = "location_id", nullable = false)
+    @Type(type = "pg-uuid")
+    private UUID locationId;
+    @Column(name = "location_name", nullable = false)
+    private String locationName;
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+    @Column(name = "next_meeting_date")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date nextMeetingDate;
+    @Column(name = "updated_date", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedDate;
+}
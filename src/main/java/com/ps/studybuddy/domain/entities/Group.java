@@ -1,6 +1,8 @@
 package com.ps.studybuddy.domain.entities;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 
@@ -8,6 +10,7 @@ import javax.persistence.*;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Getter
@@ -42,7 +45,7 @@ public class Group implements Serializable {
             joinColumns = @JoinColumn(name = "group_id")
     )
     @ToString.Exclude
-    private List<User> members;
+    private Set<User> members;
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "admin_id", nullable = false)
     @ToString.Exclude
@@ -59,6 +62,7 @@ public class Group implements Serializable {
             joinColumns = @JoinColumn(name = "group_id"),
             inverseJoinColumns = @JoinColumn(name = "topic_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "group-topics")
     @ToString.Exclude
     private List<Topic> topics;
 
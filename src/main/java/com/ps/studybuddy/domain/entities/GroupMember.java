@@ -0,0 +1,41 @@
+package com.ps.studybuddy.domain.entities;
+
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Read-only view of a row of group_members, the join table of Group.members. Memberships are still added and
+ * removed through Group.members, this entity is used to page through the members of a group and to count them
+ * without loading the whole collection.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Entity
+@Immutable
+@IdClass(GroupMemberId.class)
+@Table(name = "group_members")
+public class GroupMember {
+    @Id
+    @Column(name = "group_id")
+    @Type(type = "pg-uuid")
+    private UUID groupId;
+    @Id
+    @Column(name = "members_id")
+    @Type(type = "pg-uuid")
+    private UUID memberId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "members_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    private User member;
+    @Column(name = "joined_date", insertable = false, updatable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date joinedDate;
+}
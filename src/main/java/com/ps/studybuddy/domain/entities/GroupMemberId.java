@@ -0,0 +1,16 @@
+package com.ps.studybuddy.domain.entities;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class GroupMemberId implements Serializable {
+    private UUID groupId;
+    private UUID memberId;
+}
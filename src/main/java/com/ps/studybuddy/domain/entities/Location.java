@@ -2,6 +2,8 @@ package com.ps.studybuddy.domain.entities;
 
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 
@@ -16,6 +18,8 @@ import java.util.UUID;
 @ToString
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location")
 public class Location {
     @Id
     @GeneratedValue(generator = "uuid2")
@@ -28,9 +32,6 @@ public class Location {
     private Double latitude;
     @Column(name = "longitude", nullable = false)
     private Double longitude;
-    @OneToOne(mappedBy = "location")
-    @ToString.Exclude
-    private Group group;
 
     @Override
     public boolean equals(Object o) {
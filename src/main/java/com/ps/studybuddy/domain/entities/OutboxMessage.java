@@ -0,0 +1,38 @@
+package com.ps.studybuddy.domain.entities;
+
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import java.util.Date;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "outbox_message")
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "event_id", nullable = false)
+    @Type(type = "pg-uuid")
+    private UUID eventId;
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+    @Column(name = "group_id", nullable = false)
+    @Type(type = "pg-uuid")
+    private UUID groupId;
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    @Column(name = "created_date", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdDate;
+    @Column(name = "failed_date")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date failedDate;
+}
@@ -0,0 +1,26 @@
+package com.ps.studybuddy.domain.entities;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "revoked_subject")
+public class RevokedSubject {
+    @Id
+    @Column(name = "subject")
+    private String subject;
+    @Column(name = "revoked_before", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date revokedBefore;
+    @Column(name = "expires_date", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiresDate;
+}
@@ -0,0 +1,28 @@
+package com.ps.studybuddy.domain.entities;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "revoked_token")
+public class RevokedToken {
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+    @Column(name = "subject", nullable = false)
+    private String subject;
+    @Column(name = "expires_date", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiresDate;
+    @Column(name = "created_date", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdDate;
+}
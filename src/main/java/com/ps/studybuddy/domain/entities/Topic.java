@@ -1,6 +1,8 @@
 package com.ps.studybuddy.domain.entities;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 
@@ -16,6 +18,9 @@ import java.util.UUID;
 @ToString
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "topic")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_topic_name", columnNames = "name"))
 public class Topic {
     @Id
     @GeneratedValue(generator = "uuid2")
@@ -25,7 +30,7 @@ public class Topic {
     @Column(name = "created_date", nullable = false)
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdDate;
-    @Column(name = "name", nullable = false, unique = true)
+    @Column(name = "name", nullable = false)
     private String name;
     @Column(name = "description", nullable = false, columnDefinition = "TEXT")
     private String description;
@@ -1,7 +1,11 @@
 package com.ps.studybuddy.domain.entities;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
@@ -17,8 +21,17 @@ import java.util.UUID;
 @ToString
 @Builder
 @Entity
-@Table(name = "app_user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-natural-id")
+@Table(name = "app_user", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_UNIQUE_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email")
+})
 public class User implements Serializable {
+    public static final String USERNAME_UNIQUE_CONSTRAINT = "uk_app_user_username";
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_app_user_email";
+
     @Id
     @GeneratedValue(generator = "uuid2")
     @GenericGenerator(name = "uuid2", strategy = "uuid2")
@@ -31,6 +44,7 @@ public class User implements Serializable {
     private String firstName;
     @Column(name = "last_name", nullable = true)
     private String lastName;
+    @NaturalId(mutable = true)
     @Column(name = "username", nullable = false)
     private String username;
     @Column(name = "password", nullable = false)
@@ -0,0 +1,13 @@
+package com.ps.studybuddy.domain.enumeration;
+
+public enum GroupEventType {
+    GROUP_CREATED,
+    GROUP_UPDATED,
+    GROUP_DELETED,
+    MEMBER_JOINED,
+    MEMBER_LEFT,
+    MEMBER_KICKED,
+    ADMIN_CHANGED,
+    MEETING_DATES_CHANGED,
+    TOPIC_CHANGED
+}
@@ -0,0 +1,6 @@
+package com.ps.studybuddy.domain.enumeration;
+
+public enum GroupRole {
+    ADMIN,
+    MEMBER
+}
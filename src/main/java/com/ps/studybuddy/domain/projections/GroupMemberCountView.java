@@ -0,0 +1,8 @@
+package com.ps.studybuddy.domain.projections;
+
+import java.util.UUID;
+
+public interface GroupMemberCountView {
+    UUID getGroupId();
+    long getMemberCount();
+}
@@ -0,0 +1,22 @@
+package com.ps.studybuddy.domain.projections;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A member of a group with the columns exposed through UserDTO and the time the member joined, which together with
+ * the id positions the member in a roster page.
+ */
+public interface GroupMemberView {
+    UUID getGroupId();
+    UUID getId();
+    String getFirstName();
+    String getLastName();
+    String getUsername();
+    String getEmail();
+    String getAvatarColor();
+    String getRole();
+    boolean isActive();
+    boolean isNotLocked();
+    Date getJoinedDate();
+}
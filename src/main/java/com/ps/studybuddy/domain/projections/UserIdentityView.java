@@ -0,0 +1,12 @@
+package com.ps.studybuddy.domain.projections;
+
+import java.util.UUID;
+
+/**
+ * The identifying columns of app_user, used to find which of a username/email pair is already taken.
+ */
+public interface UserIdentityView {
+    UUID getId();
+    String getUsername();
+    String getEmail();
+}
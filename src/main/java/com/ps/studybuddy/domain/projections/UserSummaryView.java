@@ -0,0 +1,19 @@
+package com.ps.studybuddy.domain.projections;
+
+import java.util.UUID;
+
+/**
+ * Closed projection over app_user that only selects the columns exposed through UserDTO, so listing users never
+ * reads the password hash or the authorities array.
+ */
+public interface UserSummaryView {
+    UUID getId();
+    String getFirstName();
+    String getLastName();
+    String getUsername();
+    String getEmail();
+    String getAvatarColor();
+    String getRole();
+    boolean isActive();
+    boolean isNotLocked();
+}
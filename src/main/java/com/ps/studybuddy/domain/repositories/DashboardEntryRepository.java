@@ -0,0 +1,58 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.DashboardEntry;
+import com.ps.studybuddy.domain.entities.DashboardEntryId;
+import com.ps.studybuddy.domain.enumeration.GroupRole;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+public interface DashboardEntryRepository extends JpaRepository<DashboardEntry, DashboardEntryId> {
+    @Query("select e from DashboardEntry e where e.userId = (select u.id from User u where u.username = :username) " +
+            "order by e.nextMeetingDate asc nulls last, e.groupName")
+    List<DashboardEntry> findDashboardOfUser(@Param("username") String username);
+
+    @Modifying
+    @Query("update DashboardEntry e set e.groupName = :groupName, e.locationId = :locationId, " +
+            "e.locationName = :locationName, e.latitude = :latitude, e.longitude = :longitude, " +
+            "e.nextMeetingDate = :nextMeetingDate, e.updatedDate = :updatedDate where e.groupId = :groupId")
+    void updateGroupColumns(@Param("groupId") UUID groupId, @Param("groupName") String groupName,
+                            @Param("locationId") UUID locationId, @Param("locationName") String locationName,
+                            @Param("latitude") Double latitude, @Param("longitude") Double longitude,
+                            @Param("nextMeetingDate") Date nextMeetingDate, @Param("updatedDate") Date updatedDate);
+
+    @Modifying
+    @Query("update DashboardEntry e set e.role = :role, e.updatedDate = :updatedDate " +
+            "where e.groupId = :groupId and e.userId = :userId")
+    void updateRole(@Param("groupId") UUID groupId, @Param("userId") UUID userId, @Param("role") GroupRole role,
+                    @Param("updatedDate") Date updatedDate);
+
+    @Modifying
+    @Query("update DashboardEntry e set e.role = :memberRole, e.updatedDate = :updatedDate " +
+            "where e.groupId = :groupId and e.userId <> :adminId and e.role = :adminRole")
+    void demoteFormerAdmins(@Param("groupId") UUID groupId, @Param("adminId") UUID adminId,
+                            @Param("adminRole") GroupRole adminRole, @Param("memberRole") GroupRole memberRole,
+                            @Param("updatedDate") Date updatedDate);
+
+    @Modifying
+    @Query("update DashboardEntry e set e.nextMeetingDate = (select min(d) from Group g join g.meetingDates d " +
+            "where g.id = e.groupId and d > :now), e.updatedDate = :now where e.nextMeetingDate <= :now")
+    int refreshPastNextMeetingDates(@Param("now") Date now);
+
+    @Modifying
+    @Query("delete from DashboardEntry e where e.groupId = :groupId")
+    void deleteByGroupId(@Param("groupId") UUID groupId);
+
+    @Modifying
+    @Query("delete from DashboardEntry e where e.groupId = :groupId and e.userId = :userId")
+    void deleteByGroupIdAndUserId(@Param("groupId") UUID groupId, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query("delete from DashboardEntry e where e.userId = :userId")
+    void deleteByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,65 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.GroupMember;
+import com.ps.studybuddy.domain.entities.GroupMemberId;
+import com.ps.studybuddy.domain.entities.User;
+import com.ps.studybuddy.domain.projections.GroupMemberCountView;
+import com.ps.studybuddy.domain.projections.GroupMemberView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset pages over the members of a group. A page starts after the last member of the previous page instead of at
+ * an offset, and the pageable only limits the number of rows. In join order every page is a range scan on
+ * idx_group_members_group_joined however deep the client pages. The username lives in app_user, so no index on
+ * group_members can serve that order: a username page reads all members of the group through the group_id index,
+ * joins their users and sorts them, which costs the size of the group on every page but does not grow with the depth.
+ */
+@Repository
+public interface GroupMemberRepository extends JpaRepository<GroupMember, GroupMemberId>, GroupMemberRepositoryCustom {
+    String GROUP_MEMBER_SELECT = "select m.groupId as groupId, u.id as id, u.firstName as firstName, " +
+            "u.lastName as lastName, u.username as username, u.email as email, u.avatarColor as avatarColor, " +
+            "u.role as role, u.isActive as active, u.isNotLocked as notLocked, m.joinedDate as joinedDate " +
+            "from GroupMember m join m.member u where m.groupId = :groupId";
+    String JOINED_DATE_ORDER = " order by m.joinedDate, m.memberId";
+    String USERNAME_ORDER = " order by u.username";
+
+    @Query(GROUP_MEMBER_SELECT + JOINED_DATE_ORDER)
+    List<GroupMemberView> findMembersByJoinedDate(@Param("groupId") UUID groupId, Pageable pageable);
+
+    @Query(GROUP_MEMBER_SELECT + " and (m.joinedDate > :joinedDate " +
+            "or (m.joinedDate = :joinedDate and m.memberId > :memberId))" + JOINED_DATE_ORDER)
+    List<GroupMemberView> findMembersByJoinedDateAfter(@Param("groupId") UUID groupId,
+                                                       @Param("joinedDate") Date joinedDate,
+                                                       @Param("memberId") UUID memberId, Pageable pageable);
+
+    @Query(GROUP_MEMBER_SELECT + USERNAME_ORDER)
+    List<GroupMemberView> findMembersByUsername(@Param("groupId") UUID groupId, Pageable pageable);
+
+    @Query(GROUP_MEMBER_SELECT + " and u.username > :username" + USERNAME_ORDER)
+    List<GroupMemberView> findMembersByUsernameAfter(@Param("groupId") UUID groupId,
+                                                     @Param("username") String username, Pageable pageable);
+
+    /**
+     * The members who joined first, other than the given one, e.g. the member who becomes admin when the admin leaves
+     */
+    @Query("select u from GroupMember m join m.member u " +
+            "where m.groupId = :groupId and m.memberId <> :excludedId" + JOINED_DATE_ORDER)
+    List<User> findFirstJoinedMembers(@Param("groupId") UUID groupId, @Param("excludedId") UUID excludedId,
+                                      Pageable pageable);
+
+    @Query("select count(m) from GroupMember m where m.groupId = :groupId")
+    long countMembers(@Param("groupId") UUID groupId);
+
+    @Query("select m.groupId as groupId, count(m) as memberCount from GroupMember m " +
+            "where m.groupId in :groupIds group by m.groupId")
+    List<GroupMemberCountView> countMembersOfGroups(@Param("groupIds") Collection<UUID> groupIds);
+}
@@ -0,0 +1,11 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.projections.GroupMemberView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface GroupMemberRepositoryCustom {
+    List<GroupMemberView> findFirstMembersOfGroups(Collection<UUID> groupIds, int limit);
+}
@@ -0,0 +1,86 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.projections.GroupMemberView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.BooleanType;
+import org.hibernate.type.PostgresUUIDType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.TimestampType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class GroupMemberRepositoryImpl implements GroupMemberRepositoryCustom {
+    private static final String FIRST_MEMBERS_OF_GROUPS = "select p.group_id, u.id, u.first_name, u.last_name, " +
+            "u.username, u.email, u.avatar_color, u.role, u.is_active, u.is_not_locked, p.joined_date " +
+            "from (select gm.group_id, gm.members_id, gm.joined_date, row_number() over " +
+            "(partition by gm.group_id order by gm.joined_date, gm.members_id) as position " +
+            "from group_members gm where gm.group_id in (:groupIds)) p " +
+            "join app_user u on u.id = p.members_id " +
+            "where p.position <= :limit " +
+            "order by p.group_id, p.position";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Loads the first members of several groups in join order with one query, a window function numbers the members
+     * of every group so no group contributes more than limit rows. The uuid columns and parameters are typed
+     * explicitly, a native query would otherwise bind the ids as bytea. The tables are declared as query spaces:
+     * without them a read-write session flushes completely before the query, which also empties the batch fetch queue
+     * and leaves the topics of the groups loaded before to be fetched one group at a time.
+     * @param groupIds ids of the groups
+     * @param limit maximum number of members per group
+     * @return the members, grouped by group and in join order within a group
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<GroupMemberView> findFirstMembersOfGroups(Collection<UUID> groupIds, int limit) {
+        if (groupIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object[]> rows = this.entityManager.createNativeQuery(FIRST_MEMBERS_OF_GROUPS)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("group_members")
+                .addSynchronizedQuerySpace("app_user")
+                .setParameterList("groupIds", groupIds, PostgresUUIDType.INSTANCE)
+                .setParameter("limit", limit)
+                .addScalar("group_id", PostgresUUIDType.INSTANCE)
+                .addScalar("id", PostgresUUIDType.INSTANCE)
+                .addScalar("first_name", StringType.INSTANCE)
+                .addScalar("last_name", StringType.INSTANCE)
+                .addScalar("username", StringType.INSTANCE)
+                .addScalar("email", StringType.INSTANCE)
+                .addScalar("avatar_color", StringType.INSTANCE)
+                .addScalar("role", StringType.INSTANCE)
+                .addScalar("is_active", BooleanType.INSTANCE)
+                .addScalar("is_not_locked", BooleanType.INSTANCE)
+                .addScalar("joined_date", TimestampType.INSTANCE)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new GroupMemberRow((UUID) row[0], (UUID) row[1], (String) row[2], (String) row[3],
+                        (String) row[4], (String) row[5], (String) row[6], (String) row[7], (Boolean) row[8],
+                        (Boolean) row[9], (Date) row[10]))
+                .collect(Collectors.toList());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class GroupMemberRow implements GroupMemberView {
+        private final UUID groupId;
+        private final UUID id;
+        private final String firstName;
+        private final String lastName;
+        private final String username;
+        private final String email;
+        private final String avatarColor;
+        private final String role;
+        private final boolean active;
+        private final boolean notLocked;
+        private final Date joinedDate;
+    }
+}
@@ -5,14 +5,18 @@ import com.ps.studybuddy.domain.entities.User;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface GroupRepository extends JpaRepository<Group, UUID> {
+public interface GroupRepository extends JpaRepository<Group, UUID>, GroupRepositoryCustom {
     @Override
     @Query("select i from Group i order by i.createdDate")
     List<Group> findAll();
@@ -23,6 +27,21 @@ public interface GroupRepository extends JpaRepository<Group, UUID> {
     @EntityGraph(value = "group-with-meeting-dates", type = EntityGraph.EntityGraphType.FETCH)
     Optional<Group> findByIdOrderByMeetingDatesAsc(UUID id);
 
+    /**
+     * Loads the groups with their location, admin and meeting dates in one query, the topics of all the groups are
+     * batch loaded on first access
+     */
+    @Query("select distinct g from Group g join fetch g.location join fetch g.admin " +
+            "left join fetch g.meetingDates where g.id in :ids")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<Group> findGroupDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
     List<Group> findGroupsByAdmin(User user);
-    List<Group> findGroupsByMembersContaining(User user);
+
+    /**
+     * Joins the memberships of the user instead of the derived member of subquery, which PostgreSQL evaluates for
+     * every group
+     */
+    @Query("select g from Group g join g.members m where m = :user")
+    List<Group> findGroupsByMembersContaining(@Param("user") User user);
 }
@@ -0,0 +1,13 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.Group;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface GroupRepositoryCustom {
+    List<Group> findAllFetching(Set<String> associations);
+    Optional<Group> findByIdFetching(UUID id, Set<String> associations);
+}
@@ -0,0 +1,48 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.Group;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Loads groups with a fetch plan built from the associations the caller is going to read. The to-one associations
+ * are joined, the collections are left lazy in the list query, a join per collection would repeat every group row
+ * once per element, and are batch loaded on first access. The query by id also joins the meeting dates.
+ */
+public class GroupRepositoryImpl implements GroupRepositoryCustom {
+    public static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+    private static final Set<String> TO_ONE_ASSOCIATIONS = Set.of("location", "admin");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Group> findAllFetching(Set<String> associations) {
+        EntityGraph<Group> graph = this.entityManager.createEntityGraph(Group.class);
+        associations.stream()
+                .filter(TO_ONE_ASSOCIATIONS::contains)
+                .forEach(graph::addAttributeNodes);
+        return this.entityManager.createQuery("select g from Group g order by g.createdDate", Group.class)
+                .setHint(FETCH_GRAPH_HINT, graph)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<Group> findByIdFetching(UUID id, Set<String> associations) {
+        EntityGraph<Group> graph = this.entityManager.createEntityGraph(Group.class);
+        associations.stream()
+                .filter(association -> TO_ONE_ASSOCIATIONS.contains(association) || association.equals("meetingDates"))
+                .forEach(graph::addAttributeNodes);
+        return this.entityManager.createQuery("select g from Group g where g.id = :id", Group.class)
+                .setParameter("id", id)
+                .setHint(FETCH_GRAPH_HINT, graph)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    /**
+     * Locks the oldest pending messages that no other relay is working on. Rows locked by another node are skipped
+     * instead of waited for, so several nodes can drain the outbox in parallel, and failed messages are left out.
+     */
+    @Query(value = "select * from outbox_message where failed_date is null order by id limit :batchSize " +
+            "for update skip locked", nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("delete from OutboxMessage o where o.id in :ids")
+    void deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update OutboxMessage o set o.failedDate = :failedDate where o.id in :ids")
+    void markFailed(@Param("ids") Collection<Long> ids, @Param("failedDate") Date failedDate);
+
+    @Query("select min(o.createdDate) from OutboxMessage o where o.failedDate is null")
+    Date findOldestCreatedDate();
+}
@@ -0,0 +1,19 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.RevokedSubject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+
+public interface RevokedSubjectRepository extends JpaRepository<RevokedSubject, String> {
+    @Query("select s from RevokedSubject s where s.expiresDate > :now")
+    List<RevokedSubject> findActive(@Param("now") Date now);
+
+    @Modifying
+    @Query("delete from RevokedSubject s where s.expiresDate <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
@@ -0,0 +1,19 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Query("select r.tokenId from RevokedToken r where r.expiresDate > :now")
+    List<String> findActiveTokenIds(@Param("now") Date now);
+
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresDate <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
@@ -3,7 +3,9 @@ package com.ps.studybuddy.domain.repositories;
 import com.ps.studybuddy.domain.entities.Topic;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,6 +16,7 @@ public interface TopicRepository extends JpaRepository<Topic, UUID> {
     List<Topic> findAll();
 
     Optional<Topic> findById(UUID id);
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     Optional<Topic> findTopicByName(String name);
 
 }
@@ -1,21 +1,50 @@
 package com.ps.studybuddy.domain.repositories;
 
 import com.ps.studybuddy.domain.entities.User;
+import com.ps.studybuddy.domain.projections.UserIdentityView;
+import com.ps.studybuddy.domain.projections.UserSummaryView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
+    String USER_SUMMARY_SELECT = "select u.id as id, u.firstName as firstName, u.lastName as lastName, " +
+            "u.username as username, u.email as email, u.avatarColor as avatarColor, u.role as role, " +
+            "u.isActive as active, u.isNotLocked as notLocked from User u";
+    String USER_PREFIX_FILTER = " where lower(u.username) like :prefix escape '\\' " +
+            "or lower(u.firstName) like :prefix escape '\\' " +
+            "or lower(u.lastName) like :prefix escape '\\'";
+
     @Override
     @Query("select i from User i order by i.createdDate")
     List<User> findAll();
 
     Optional<User> findById(UUID id);
-    Optional<User> findUserByUsername(String username);
     Optional<User> findUserByEmail(String email);
+
+    @Query("select u.id as id, u.username as username, u.email as email from User u " +
+            "where u.username = :username or u.email = :email")
+    List<UserIdentityView> findIdentityConflicts(@Param("username") String username, @Param("email") String email);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query(value = USER_SUMMARY_SELECT, countQuery = "select count(u) from User u")
+    Page<UserSummaryView> findAllSummaries(Pageable pageable);
+
+    @Query(value = USER_SUMMARY_SELECT + USER_PREFIX_FILTER,
+            countQuery = "select count(u) from User u" + USER_PREFIX_FILTER)
+    Page<UserSummaryView> findSummariesByPrefix(@Param("prefix") String prefix, Pageable pageable);
 }
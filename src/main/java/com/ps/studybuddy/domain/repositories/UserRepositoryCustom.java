@@ -0,0 +1,9 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findUserByUsername(String username);
+}
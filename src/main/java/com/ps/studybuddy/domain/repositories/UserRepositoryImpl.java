@@ -0,0 +1,26 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.User;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Loads the user through its natural id, so the username to id resolution and the user itself are served from
+     * the second-level cache when they are present
+     * @param username the username of the user
+     * @return the user, empty if no user has that username
+     */
+    @Override
+    public Optional<User> findUserByUsername(String username) {
+        return this.entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
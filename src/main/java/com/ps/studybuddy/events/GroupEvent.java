@@ -0,0 +1,27 @@
+package com.ps.studybuddy.events;
+
+import com.ps.studybuddy.domain.enumeration.GroupEventType;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Something that happened to a group. userId is the member the event is about (the one who joined, left, was kicked
+ * or became admin, or the admin for the other group events) and topicId is only set for TOPIC_CHANGED.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class GroupEvent implements Serializable {
+    private UUID id;
+    private GroupEventType type;
+    private UUID groupId;
+    private UUID userId;
+    private UUID topicId;
+    private Date occurredDate;
+}
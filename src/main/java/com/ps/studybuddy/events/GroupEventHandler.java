@@ -0,0 +1,9 @@
+package com.ps.studybuddy.events;
+
+/**
+ * Follow-up work that reacts to group events outside of the request that caused them. Handlers are called by the
+ * configured transport after the originating transaction committed, possibly on another node.
+ */
+public interface GroupEventHandler {
+    void handle(GroupEvent event);
+}
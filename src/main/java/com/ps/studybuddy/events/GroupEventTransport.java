@@ -0,0 +1,10 @@
+package com.ps.studybuddy.events;
+
+import java.util.List;
+
+/**
+ * Carries batches of group events from the node that produced them to the GroupEventHandlers.
+ */
+public interface GroupEventTransport {
+    void send(List<GroupEvent> events);
+}
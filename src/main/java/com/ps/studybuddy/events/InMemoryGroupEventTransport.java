@@ -0,0 +1,37 @@
+package com.ps.studybuddy.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands the events to the handlers of this node. Used by tests and single-node deployments.
+ */
+@Component
+@ConditionalOnProperty(name = "events.transport", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryGroupEventTransport implements GroupEventTransport {
+    private final List<GroupEventHandler> handlers;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public InMemoryGroupEventTransport(List<GroupEventHandler> handlers) {
+        this.handlers = handlers;
+    }
+
+    @Override
+    public void send(List<GroupEvent> events) {
+        for (GroupEvent event : events) {
+            for (GroupEventHandler handler : this.handlers) {
+                try {
+                    handler.handle(event);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Handler " + handler.getClass().getSimpleName() + " failed for " + event, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ps.studybuddy.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.domain.entities.OutboxMessage;
+import com.ps.studybuddy.domain.repositories.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Date;
+
+/**
+ * Writes every group event to the outbox table inside the transaction that published it, so an event exists if and
+ * only if the change that caused it was committed.
+ */
+@Component
+public class OutboxGroupEventWriter {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxGroupEventWriter(OutboxMessageRepository outboxMessageRepository, ObjectMapper objectMapper) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onGroupEvent(GroupEvent event) throws JsonProcessingException {
+        OutboxMessage message = OutboxMessage.builder()
+                .eventId(event.getId())
+                .eventType(event.getType().name())
+                .groupId(event.getGroupId())
+                .payload(this.objectMapper.writeValueAsString(event))
+                .createdDate(new Date())
+                .build();
+        this.outboxMessageRepository.save(message);
+    }
+}
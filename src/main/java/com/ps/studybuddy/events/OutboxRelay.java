@@ -0,0 +1,146 @@
+package com.ps.studybuddy.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.domain.entities.OutboxMessage;
+import com.ps.studybuddy.domain.repositories.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox table in id order and hands the events to the transport. Every batch is locked, sent and
+ * deleted in one transaction, so a batch that cannot be sent stays in the outbox and is retried on the next run.
+ * Delivery is at least once, handlers can use the event id to ignore duplicates.
+ * <p>
+ * The events of a batch are sent in id order, but batches are not ordered against each other: with several nodes,
+ * SKIP LOCKED lets one node send a later batch while another still holds an earlier one, and a retried batch comes
+ * after the batches sent in the meantime. Handlers must not depend on the order of events of different batches.
+ * <p>
+ * A message whose payload cannot be read is marked failed and logged, the rest of its batch is still sent. Failed
+ * messages stay in the table for inspection and are neither relayed again nor counted by the pending age.
+ */
+@Component
+@Lazy(false)
+public class OutboxRelay {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final GroupEventTransport transport;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter relayedEvents;
+    private final Counter failedEvents;
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository, GroupEventTransport transport,
+                       ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run}") int maxBatchesPerRun) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.relayedEvents = Counter.builder("outbox.relay.events")
+                .description("Group events sent from the outbox to the transport")
+                .register(meterRegistry);
+        this.failedEvents = Counter.builder("outbox.relay.failed")
+                .description("Outbox messages marked failed because their payload is not a valid group event")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to lock, send and delete one outbox batch")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Time between writing an event to the outbox and sending it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("outbox.pending.oldest.age", this.oldestPendingAgeMillis,
+                age -> age.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-millis}")
+    public void relay() {
+        try {
+            for (int i = 0; i < this.maxBatchesPerRun; i++) {
+                int relayed = this.batchTimer.record(() -> this.transactionTemplate.execute(status -> relayBatch()));
+                if (relayed < this.batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not relay the outbox: " + e.getMessage());
+        }
+        Date oldestCreatedDate = this.outboxMessageRepository.findOldestCreatedDate();
+        this.oldestPendingAgeMillis.set(oldestCreatedDate == null ? 0 : System.currentTimeMillis() - oldestCreatedDate.getTime());
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> messages = this.outboxMessageRepository.lockNextBatch(this.batchSize);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        List<GroupEvent> events = new ArrayList<>(messages.size());
+        List<OutboxMessage> readable = new ArrayList<>(messages.size());
+        List<Long> failedIds = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            GroupEvent event = readEvent(message);
+            if (event == null) {
+                failedIds.add(message.getId());
+            } else {
+                events.add(event);
+                readable.add(message);
+            }
+        }
+        if (!events.isEmpty()) {
+            this.transport.send(events);
+            this.outboxMessageRepository.deleteByIds(readable.stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+        }
+        if (!failedIds.isEmpty()) {
+            this.outboxMessageRepository.markFailed(failedIds, new Date());
+            this.failedEvents.increment(failedIds.size());
+        }
+        long now = System.currentTimeMillis();
+        for (OutboxMessage message : readable) {
+            this.lagTimer.record(now - message.getCreatedDate().getTime(), TimeUnit.MILLISECONDS);
+        }
+        this.relayedEvents.increment(readable.size());
+        return messages.size();
+    }
+
+    /**
+     * @param message the outbox message
+     * @return the group event of the message, null if its payload is not a valid group event
+     */
+    private GroupEvent readEvent(OutboxMessage message) {
+        try {
+            return this.objectMapper.readValue(message.getPayload(), GroupEvent.class);
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Outbox message " + message.getId() + " is not a valid group event and is marked failed: "
+                    + e.getMessage());
+            return null;
+        }
+    }
+}
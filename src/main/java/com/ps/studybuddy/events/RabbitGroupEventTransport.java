@@ -0,0 +1,69 @@
+package com.ps.studybuddy.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.List;
+
+/**
+ * Publishes every batch of events as one message to a durable RabbitMQ queue shared by all nodes, so each batch is
+ * handled once by whichever node consumes it.
+ */
+@Configuration
+@Lazy(false)
+@ConditionalOnProperty(name = "events.transport", havingValue = "rabbit")
+public class RabbitGroupEventTransport implements GroupEventTransport {
+    public static final String GROUP_EVENTS_EXCHANGE = "studybuddy.group-events";
+    public static final String GROUP_EVENTS_QUEUE = "studybuddy.group-events.handlers";
+    public static final String GROUP_EVENTS_ROUTING_KEY = "group-events";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final List<GroupEventHandler> handlers;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public RabbitGroupEventTransport(RabbitTemplate rabbitTemplate, List<GroupEventHandler> handlers) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.handlers = handlers;
+    }
+
+    @Bean
+    public static MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public static Declarables groupEventBindings() {
+        DirectExchange exchange = new DirectExchange(GROUP_EVENTS_EXCHANGE);
+        Queue queue = new Queue(GROUP_EVENTS_QUEUE);
+        return new Declarables(exchange, queue, BindingBuilder.bind(queue).to(exchange).with(GROUP_EVENTS_ROUTING_KEY));
+    }
+
+    @Override
+    public void send(List<GroupEvent> events) {
+        this.rabbitTemplate.convertAndSend(GROUP_EVENTS_EXCHANGE, GROUP_EVENTS_ROUTING_KEY, events.toArray(new GroupEvent[0]));
+    }
+
+    @RabbitListener(queues = GROUP_EVENTS_QUEUE)
+    public void receive(GroupEvent[] events) {
+        for (GroupEvent event : events) {
+            for (GroupEventHandler handler : this.handlers) {
+                try {
+                    handler.handle(event);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Handler " + handler.getClass().getSimpleName() + " failed for " + event, e);
+                }
+            }
+        }
+    }
+}
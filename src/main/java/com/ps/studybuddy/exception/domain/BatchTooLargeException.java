@@ -0,0 +1,7 @@
+package com.ps.studybuddy.exception.domain;
+
+public class BatchTooLargeException extends Exception {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ps.studybuddy.exception.domain;
+
+public class InvalidCursorException extends Exception {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
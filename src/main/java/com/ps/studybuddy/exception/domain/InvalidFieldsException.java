@@ -0,0 +1,7 @@
+package com.ps.studybuddy.exception.domain;
+
+public class InvalidFieldsException extends Exception {
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ps.studybuddy.exception.domain;
+
+public class UnsupportedImportFormatException extends Exception {
+    public UnsupportedImportFormatException(String message) {
+        super(message);
+    }
+}
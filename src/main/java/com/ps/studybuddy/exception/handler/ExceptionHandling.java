@@ -17,11 +17,13 @@ import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.NoResultException;
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.springframework.http.HttpStatus.*;
 
@@ -39,6 +41,7 @@ public class ExceptionHandling implements ErrorController {
     public static final String SAME_PERSON_EXCEPTION = "You cannot request to connect to the same person";
     public static final String ANONYMOUS_USER_EXCEPTION = "You must be logged in to perform this action";
     public static final String NOT_ADMIN_OF_GROUP = "You are not an admin of this group";
+    public static final String SERVICE_BUSY = "The service is busy, try again later";
     public static final String ERROR_PATH = "/error";
 
     @ExceptionHandler(DisabledException.class)
@@ -169,6 +172,36 @@ public class ExceptionHandling implements ErrorController {
         return createHttpResponse(NOT_FOUND, exception.getMessage());
     }
 
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<HttpResponse> invalidFieldsException(InvalidFieldsException exception) {
+        LOGGER.error(exception.getMessage());
+        return createHttpResponse(BAD_REQUEST, exception.getMessage());
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<HttpResponse> batchTooLargeException(BatchTooLargeException exception) {
+        LOGGER.error(exception.getMessage());
+        return createHttpResponse(BAD_REQUEST, exception.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<HttpResponse> invalidCursorException(InvalidCursorException exception) {
+        LOGGER.error(exception.getMessage());
+        return createHttpResponse(BAD_REQUEST, exception.getMessage());
+    }
+
+    @ExceptionHandler({RejectedExecutionException.class, AsyncRequestTimeoutException.class})
+    public ResponseEntity<HttpResponse> serviceBusyException(Exception exception) {
+        LOGGER.warn(exception.getClass().getSimpleName() + ": " + exception.getMessage());
+        return createHttpResponse(SERVICE_UNAVAILABLE, SERVICE_BUSY);
+    }
+
+    @ExceptionHandler(UnsupportedImportFormatException.class)
+    public ResponseEntity<HttpResponse> unsupportedImportFormatException(UnsupportedImportFormatException exception) {
+        LOGGER.error(exception.getMessage());
+        return createHttpResponse(BAD_REQUEST, exception.getMessage());
+    }
+
     private ResponseEntity<HttpResponse> createHttpResponse(HttpStatus httpStatus, String message) {
         HttpResponse httpResponse = new HttpResponse(
                 httpStatus.value(),
@@ -0,0 +1,89 @@
+package com.ps.studybuddy.monitoring;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SQL statements, rows and JDBC time of one request. Statements are also counted per SQL string so that slow
+ * requests can be logged with the statements that made them slow.
+ */
+public class QueryStats {
+    public static final int MAX_DISTINCT_STATEMENTS = 50;
+
+    private final Map<String, StatementStats> statementsBySql = new LinkedHashMap<>();
+    private long statements;
+    private long rows;
+    private long jdbcNanos;
+
+    public synchronized void addStatement(String sql, long nanos, long affectedRows) {
+        this.statements++;
+        this.rows += affectedRows;
+        this.jdbcNanos += nanos;
+        StatementStats statementStats = this.statementsBySql.get(sql);
+        if (statementStats == null && this.statementsBySql.size() < MAX_DISTINCT_STATEMENTS) {
+            statementStats = new StatementStats(sql);
+            this.statementsBySql.put(sql, statementStats);
+        }
+        if (statementStats != null) {
+            statementStats.count++;
+            statementStats.nanos += nanos;
+        }
+    }
+
+    public synchronized void addRow() {
+        this.rows++;
+    }
+
+    public synchronized long getStatements() {
+        return this.statements;
+    }
+
+    public synchronized long getRows() {
+        return this.rows;
+    }
+
+    public synchronized long getJdbcNanos() {
+        return this.jdbcNanos;
+    }
+
+    /**
+     * @param limit maximum number of statements
+     * @return the statements that took the most JDBC time, slowest first
+     */
+    public synchronized List<StatementStats> getSlowestStatements(int limit) {
+        return this.statementsBySql.values().stream()
+                .sorted(Comparator.comparingLong(StatementStats::getNanos).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public static class StatementStats {
+        private final String sql;
+        private long count;
+        private long nanos;
+
+        private StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return this.sql;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        @Override
+        public String toString() {
+            return this.count + "x " + this.nanos / 1_000_000 + " ms " + this.sql;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ps.studybuddy.monitoring;
+
+/**
+ * Binds the QueryStats of the current request to the thread that serves it.
+ */
+public final class QueryStatsHolder {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryStatsHolder() {
+    }
+
+    public static QueryStats get() {
+        return CURRENT.get();
+    }
+
+    public static void set(QueryStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
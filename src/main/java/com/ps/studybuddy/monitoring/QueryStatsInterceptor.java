@@ -0,0 +1,102 @@
+package com.ps.studybuddy.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the SQL statements of every controller call and records them per controller method. Requests slower than
+ * the threshold are logged with their slowest statements. Async handlers keep the QueryStats of their request
+ * across the dispatches, the statements in between are collected on the thread of ControllerExecutor.
+ */
+@Component
+public class QueryStatsInterceptor implements AsyncHandlerInterceptor {
+    public static final int LOGGED_STATEMENTS = 5;
+    public static final String QUERY_STATS_ATTRIBUTE = QueryStats.class.getName();
+    private static final String START_ATTRIBUTE = QueryStatsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestThresholdNanos;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public QueryStatsInterceptor(MeterRegistry meterRegistry,
+                                 @Value("${monitoring.slow-request-threshold-millis}") long slowRequestThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestThresholdMillis);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            Object asyncStats = request.getAttribute(QUERY_STATS_ATTRIBUTE);
+            if (request.getDispatcherType() == DispatcherType.ASYNC && asyncStats instanceof QueryStats) {
+                QueryStatsHolder.set((QueryStats) asyncStats);
+                return true;
+            }
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            QueryStats stats = new QueryStats();
+            request.setAttribute(QUERY_STATS_ATTRIBUTE, stats);
+            QueryStatsHolder.set(stats);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the request continues on another thread and is completed by the async dispatch
+        QueryStatsHolder.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryStats stats = QueryStatsHolder.get();
+        QueryStatsHolder.clear();
+        if (stats == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+        Tags tags = Tags.of("controller", controller, "method", method);
+        DistributionSummary.builder("http.request.sql.statements")
+                .description("SQL statements executed by one request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.request.sql.rows")
+                .description("Rows read or written by the SQL statements of one request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("http.request.sql.time")
+                .description("Time spent executing SQL statements during one request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        long elapsedNanos = start == null ? 0 : System.nanoTime() - (Long) start;
+        if (elapsedNanos >= this.slowRequestThresholdNanos) {
+            LOGGER.warn("Slow request " + controller + "." + method + " took " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos)
+                    + " ms: " + stats.getStatements() + " statements, " + stats.getRows() + " rows, "
+                    + TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()) + " ms in JDBC, slowest statements "
+                    + stats.getSlowestStatements(LOGGED_STATEMENTS));
+        }
+    }
+}
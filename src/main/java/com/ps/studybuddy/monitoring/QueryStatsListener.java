@@ -0,0 +1,71 @@
+package com.ps.studybuddy.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * datasource-proxy listener that adds every executed statement to the QueryStats of the current request. Selected
+ * rows are counted from ResultSet#next, updated rows from the update counts. Statements executed outside of a
+ * request (scheduled jobs, the outbox relay) are not counted.
+ */
+public class QueryStatsListener implements QueryExecutionListener, MethodExecutionListener {
+    private static final ThreadLocal<Long> STATEMENT_START = new ThreadLocal<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (QueryStatsHolder.get() != null) {
+            STATEMENT_START.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryStatsHolder.get();
+        Long start = STATEMENT_START.get();
+        STATEMENT_START.remove();
+        if (stats == null || start == null) {
+            return;
+        }
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; "));
+        stats.addStatement(sql, System.nanoTime() - start, updatedRows(execInfo.getResult()));
+    }
+
+    private long updatedRows(Object result) {
+        if (result instanceof Integer) {
+            return Math.max((Integer) result, 0);
+        }
+        if (result instanceof int[]) {
+            long rows = 0;
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+        return 0;
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            QueryStats stats = QueryStatsHolder.get();
+            if (stats != null) {
+                stats.addRow();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ps.studybuddy.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports how long the JVM took until the application was ready and until it served its first request, together
+ * with the resident memory at that point. With startup.exit-after-first-request the application stops after the
+ * first request, which is how scripts/fast-start.sh records the class-data sharing archive of a training run.
+ */
+@Component
+@Lazy(false)
+public class StartupReporter {
+    private static final Path PROCESS_STATUS = Path.of("/proc/self/status");
+
+    private final ConfigurableApplicationContext applicationContext;
+    private final boolean exitAfterFirstRequest;
+    private final AtomicBoolean firstRequestServed = new AtomicBoolean();
+    private volatile long readyMillis = -1;
+    private volatile long firstRequestMillis = -1;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public StartupReporter(ConfigurableApplicationContext applicationContext, MeterRegistry meterRegistry,
+                           @Value("${startup.exit-after-first-request}") boolean exitAfterFirstRequest) {
+        this.applicationContext = applicationContext;
+        this.exitAfterFirstRequest = exitAfterFirstRequest;
+        Gauge.builder("startup.ready.time", this, reporter -> reporter.readyMillis)
+                .description("Milliseconds from the JVM start until the application was ready")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("startup.first.request.time", this, reporter -> reporter.firstRequestMillis)
+                .description("Milliseconds from the JVM start until the first request was served")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        this.readyMillis = millisSinceJvmStart();
+        LOGGER.info("Ready " + this.readyMillis + " ms after the JVM start, resident memory " + residentMemory());
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (!this.firstRequestServed.compareAndSet(false, true)) {
+            return;
+        }
+        this.firstRequestMillis = millisSinceJvmStart();
+        LOGGER.info("First request " + event.getRequestUrl() + " served " + this.firstRequestMillis
+                + " ms after the JVM start, resident memory " + residentMemory());
+        if (this.exitAfterFirstRequest) {
+            // leave the request thread first, the response of the first request still has to be written
+            new Thread(() -> System.exit(SpringApplication.exit(this.applicationContext, () -> 0)), "startup-exit").start();
+        }
+    }
+
+    private long millisSinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    private String residentMemory() {
+        try {
+            List<String> lines = Files.readAllLines(PROCESS_STATUS);
+            return lines.stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.substring("VmRSS:".length()).trim())
+                    .findFirst()
+                    .orElse("unknown");
+        } catch (IOException | UnsupportedOperationException e) {
+            return "unknown";
+        }
+    }
+}
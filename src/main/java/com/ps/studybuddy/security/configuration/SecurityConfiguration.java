@@ -1,8 +1,10 @@
 package com.ps.studybuddy.security.configuration;
 
+import com.ps.studybuddy.security.filter.AdaptiveConcurrencyFilter;
 import com.ps.studybuddy.security.filter.JwtAccessDeniedHandler;
 import com.ps.studybuddy.security.filter.JwtAuthenticationEntryPoint;
 import com.ps.studybuddy.security.filter.JwtAuthorizationFilter;
+import com.ps.studybuddy.security.filter.RateLimitingFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -26,6 +28,8 @@ import static com.ps.studybuddy.security.constant.SecurityConstant.PUBLIC_URLS;
 public class SecurityConfiguration extends WebSecurityConfigurerAdapter{
 
     private JwtAuthorizationFilter jwtAuthorizationFilter;
+    private RateLimitingFilter rateLimitingFilter;
+    private AdaptiveConcurrencyFilter adaptiveConcurrencyFilter;
     private JwtAccessDeniedHandler jwtAccessDeniedHandler;
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private UserDetailsService userDetailsService;
@@ -33,11 +37,15 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter{
 
     @Autowired
     public SecurityConfiguration(JwtAuthorizationFilter jwtAuthorizationFilter,
+                                 RateLimitingFilter rateLimitingFilter,
+                                 AdaptiveConcurrencyFilter adaptiveConcurrencyFilter,
                                  JwtAccessDeniedHandler jwtAccessDeniedHandler,
                                  JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
                                  @Qualifier("userDetailsService")UserDetailsService userDetailsService,
                                  BCryptPasswordEncoder bCryptPasswordEncoder) {
         this.jwtAuthorizationFilter = jwtAuthorizationFilter;
+        this.rateLimitingFilter = rateLimitingFilter;
+        this.adaptiveConcurrencyFilter = adaptiveConcurrencyFilter;
         this.jwtAccessDeniedHandler = jwtAccessDeniedHandler;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.userDetailsService = userDetailsService;
@@ -68,7 +76,9 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter{
                 .exceptionHandling().accessDeniedHandler(jwtAccessDeniedHandler)
                 .authenticationEntryPoint(jwtAuthenticationEntryPoint)
                 .and()
-                .addFilterBefore(jwtAuthorizationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthorizationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitingFilter, JwtAuthorizationFilter.class)
+                .addFilterBefore(adaptiveConcurrencyFilter, JwtAuthorizationFilter.class);
     }
 
     @Bean
@@ -0,0 +1,20 @@
+package com.ps.studybuddy.security.constant;
+
+import com.ps.studybuddy.security.filter.Criticality;
+import com.ps.studybuddy.security.utility.RouteCriticality;
+
+public class LoadSheddingConstant {
+    public static final String SERVICE_OVERLOADED_MESSAGE = "The service is overloaded, try again later";
+    public static final int RETRY_AFTER_SECONDS = 1;
+    // the first matching route applies, reads are DEFAULT and the other writes SHEDDABLE
+    public static final RouteCriticality[] ROUTE_CRITICALITIES = {
+            new RouteCriticality("POST", "/login", Criticality.CRITICAL),
+            new RouteCriticality("POST", "/users/logout", Criticality.CRITICAL),
+            new RouteCriticality(null, "/actuator/**", Criticality.CRITICAL),
+            // a read that carries its ids in the body
+            new RouteCriticality("POST", "/groups/batch", Criticality.DEFAULT),
+            new RouteCriticality("GET", "/**", Criticality.DEFAULT),
+            new RouteCriticality("HEAD", "/**", Criticality.DEFAULT),
+    };
+    public static final Criticality DEFAULT_CRITICALITY = Criticality.SHEDDABLE;
+}
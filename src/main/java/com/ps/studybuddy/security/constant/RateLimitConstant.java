@@ -0,0 +1,18 @@
+package com.ps.studybuddy.security.constant;
+
+import com.ps.studybuddy.security.utility.RateLimitBudget;
+
+public class RateLimitConstant {
+    public static final String TOO_MANY_REQUESTS_MESSAGE = "Too many requests, try again later";
+    public static final int MAX_BUCKETS = 200_000;
+    public static final long EARLY_SWEEP_INTERVAL_MILLIS = 1_000;
+    // the first matching budget applies, DEFAULT_BUDGET applies to the other routes
+    public static final RateLimitBudget[] ROUTE_BUDGETS = {
+            new RateLimitBudget("login", "POST", "/login", 10, 20),
+            new RateLimitBudget("register", "POST", "/users/register", 3, 5),
+            new RateLimitBudget("group-create", "POST", "/groups/create", 5, 10),
+            new RateLimitBudget("group-join", "POST", "/groups/join/**", 20, 30),
+            new RateLimitBudget("user-import", "POST", "/users/import", 2, 2),
+    };
+    public static final RateLimitBudget DEFAULT_BUDGET = new RateLimitBudget("default", null, "/**", 100, 600);
+}
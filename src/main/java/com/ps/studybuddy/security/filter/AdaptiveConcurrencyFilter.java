@@ -0,0 +1,167 @@
+package com.ps.studybuddy.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.domain.entities.HttpResponse;
+import com.ps.studybuddy.security.utility.AdaptiveConcurrencyLimit;
+import com.ps.studybuddy.security.utility.RouteCriticality;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.ps.studybuddy.security.constant.LoadSheddingConstant.*;
+import static com.ps.studybuddy.security.constant.SecurityConstant.OPTIONS_HTTP_METHOD;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Runs before JwtAuthorizationFilter and sheds the requests above the adaptive concurrency limit with 503, so a
+ * slow database makes the API reject the excess quickly instead of queueing every request on the Tomcat threads.
+ * Every class of requests may only use its share of the limit: when the limit shrinks the sheddable writes are
+ * rejected first, then the reads, while logins keep the rest.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+    private final AdaptiveConcurrencyLimit limit;
+    private final Map<Criticality, Counter> rejections = new EnumMap<>(Criticality.class);
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    @Autowired
+    public AdaptiveConcurrencyFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                     @Value("${concurrency-limit.enabled}") boolean enabled,
+                                     @Value("${concurrency-limit.initial-limit}") int initialLimit,
+                                     @Value("${concurrency-limit.min-limit}") int minLimit,
+                                     @Value("${concurrency-limit.max-limit}") int maxLimit) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+        for (Criticality criticality : Criticality.values()) {
+            this.rejections.put(criticality, Counter.builder("concurrency.limit.rejected")
+                    .description("Requests shed because the concurrency limit of their criticality was reached")
+                    .tag("criticality", criticality.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("concurrency.limit", this.limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limit.in.flight", this.limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently admitted by the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!this.enabled || request.getMethod().equalsIgnoreCase(OPTIONS_HTTP_METHOD)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Criticality criticality = findCriticality(request);
+        int inFlightAtStart = this.limit.tryAcquire(criticality.getLimitShare());
+        if (inFlightAtStart < 0) {
+            this.rejections.get(criticality).increment();
+            rejectRequest(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // the request holds its slot until the async processing completes
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(start, inFlightAtStart));
+            } else {
+                this.limit.release(System.nanoTime() - start, inFlightAtStart, failed || isServerError(response));
+            }
+        }
+    }
+
+    private Criticality findCriticality(HttpServletRequest request) {
+        String path = this.urlPathHelper.getPathWithinApplication(request);
+        for (RouteCriticality route : ROUTE_CRITICALITIES) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && this.pathMatcher.match(route.getPathPattern(), path)) {
+                return route.getCriticality();
+            }
+        }
+        return DEFAULT_CRITICALITY;
+    }
+
+    private boolean isServerError(HttpServletResponse response) {
+        return response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private void rejectRequest(HttpServletResponse response) throws IOException {
+        HttpResponse httpResponse = new HttpResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase().toUpperCase(),
+                SERVICE_OVERLOADED_MESSAGE
+        );
+        response.setContentType(APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        OutputStream outputStream = response.getOutputStream();
+        this.objectMapper.writeValue(outputStream, httpResponse);
+        outputStream.flush();
+    }
+
+    private class ReleasingAsyncListener implements AsyncListener {
+        private final long start;
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private ReleasingAsyncListener(long start, int inFlightAtStart) {
+            this.start = start;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(isServerError((HttpServletResponse) event.getSuppliedResponse()));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void release(boolean failed) {
+            if (!this.released) {
+                this.released = true;
+                limit.release(System.nanoTime() - this.start, this.inFlightAtStart, failed);
+            }
+        }
+    }
+}
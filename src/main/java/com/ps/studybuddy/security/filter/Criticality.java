@@ -0,0 +1,20 @@
+package com.ps.studybuddy.security.filter;
+
+import lombok.Getter;
+
+/**
+ * How much of the adaptive concurrency limit a class of requests may use. Lower classes are shed first when the
+ * limit shrinks, so the higher classes keep the capacity that is left.
+ */
+@Getter
+public enum Criticality {
+    CRITICAL(1.0),
+    DEFAULT(0.8),
+    SHEDDABLE(0.5);
+
+    private double limitShare;
+
+    Criticality(double limitShare) {
+        this.limitShare = limitShare;
+    }
+}
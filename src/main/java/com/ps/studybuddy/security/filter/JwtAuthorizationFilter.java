@@ -1,6 +1,8 @@
 package com.ps.studybuddy.security.filter;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.ps.studybuddy.security.utility.JWTTokenProvider;
+import com.ps.studybuddy.services.TokenRevocationService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -21,9 +23,11 @@ import static com.ps.studybuddy.security.constant.SecurityConstant.*;
 @Component
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
     private JWTTokenProvider jwtTokenProvider;
+    private TokenRevocationService tokenRevocationService;
 
-    public JwtAuthorizationFilter(JWTTokenProvider jwtTokenProvider) {
+    public JwtAuthorizationFilter(JWTTokenProvider jwtTokenProvider, TokenRevocationService tokenRevocationService) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
     }
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -36,9 +40,12 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
                 return;
             }
             String token = authorizationHeader.substring(TOKEN_PREFIX.length());
-            String username = jwtTokenProvider.getSubject(token);
-            if (jwtTokenProvider.isTokenValid(username, token) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                List<GrantedAuthority> authorities = jwtTokenProvider.getAuthorities(token);
+            DecodedJWT decodedJWT = jwtTokenProvider.verifyToken(token);
+            String username = decodedJWT.getSubject();
+            if (jwtTokenProvider.isTokenValid(decodedJWT)
+                    && !tokenRevocationService.isRevoked(decodedJWT.getId(), username, decodedJWT.getIssuedAt())
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                List<GrantedAuthority> authorities = jwtTokenProvider.getAuthorities(decodedJWT);
                 Authentication authentication = jwtTokenProvider.getAuthentication(username, authorities, request);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             } else {
@@ -0,0 +1,150 @@
+package com.ps.studybuddy.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.domain.entities.HttpResponse;
+import com.ps.studybuddy.security.utility.RateLimitBudget;
+import com.ps.studybuddy.security.utility.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ps.studybuddy.security.constant.RateLimitConstant.*;
+import static com.ps.studybuddy.security.constant.SecurityConstant.OPTIONS_HTTP_METHOD;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Runs after JwtAuthorizationFilter and limits every caller to the budget of the route it calls. Authenticated
+ * callers are keyed by their JWT subject, anonymous callers by their address. Buckets that refilled completely
+ * are dropped by a periodic sweep, so memory only grows with the callers active in the last refill period. When more
+ * than MAX_BUCKETS callers show up between two sweeps an early sweep runs, at most once per EARLY_SWEEP_INTERVAL_MILLIS
+ * so that a flood of new callers cannot make every request walk the whole map.
+ */
+@Component
+@Lazy(false)
+public class RateLimitingFilter extends OncePerRequestFilter {
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new HashMap<>();
+    private final AtomicLong nextEarlySweepNanos = new AtomicLong(System.nanoTime());
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    @Autowired
+    public RateLimitingFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${rate-limit.enabled}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        for (RateLimitBudget budget : ROUTE_BUDGETS) {
+            this.rejections.put(budget.getName(), rejectionCounter(meterRegistry, budget));
+        }
+        this.rejections.put(DEFAULT_BUDGET.getName(), rejectionCounter(meterRegistry, DEFAULT_BUDGET));
+        meterRegistry.gaugeMapSize("rate.limit.buckets", Tags.empty(), this.buckets);
+    }
+
+    private Counter rejectionCounter(MeterRegistry meterRegistry, RateLimitBudget budget) {
+        return Counter.builder("rate.limit.rejected")
+                .description("Requests rejected because the caller used up the budget of the route")
+                .tag("route", budget.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!this.enabled || request.getMethod().equalsIgnoreCase(OPTIONS_HTTP_METHOD)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimitBudget budget = findBudget(request);
+        String key = budget.getName() + ":" + callerKey(request);
+        long now = System.nanoTime();
+        if (this.buckets.size() >= MAX_BUCKETS) {
+            sweepEarly(now);
+        }
+        TokenBucket bucket = this.buckets.computeIfAbsent(key, k -> new TokenBucket(budget, now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            this.rejections.get(budget.getName()).increment();
+            rejectRequest(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitBudget findBudget(HttpServletRequest request) {
+        String path = this.urlPathHelper.getPathWithinApplication(request);
+        for (RateLimitBudget budget : ROUTE_BUDGETS) {
+            if ((budget.getMethod() == null || budget.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && this.pathMatcher.match(budget.getPathPattern(), path)) {
+                return budget;
+            }
+        }
+        return DEFAULT_BUDGET;
+    }
+
+    private String callerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private void rejectRequest(HttpServletResponse response, long waitNanos) throws IOException {
+        HttpResponse httpResponse = new HttpResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS,
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase().toUpperCase(),
+                TOO_MANY_REQUESTS_MESSAGE
+        );
+        response.setContentType(APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        OutputStream outputStream = response.getOutputStream();
+        this.objectMapper.writeValue(outputStream, httpResponse);
+        outputStream.flush();
+    }
+
+    private void sweepEarly(long now) {
+        long nextSweep = this.nextEarlySweepNanos.get();
+        long followingSweep = now + TimeUnit.MILLISECONDS.toNanos(EARLY_SWEEP_INTERVAL_MILLIS);
+        if (now - nextSweep >= 0 && this.nextEarlySweepNanos.compareAndSet(nextSweep, followingSweep)) {
+            evictFullBuckets();
+        }
+    }
+
+    /**
+     * A full bucket allows exactly what a new bucket allows, so dropping it does not change any decision
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-millis}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        this.buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+    }
+}
@@ -0,0 +1,15 @@
+package com.ps.studybuddy.security.revocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node deployments have no other nodes to tell.
+ */
+@Component
+@ConditionalOnProperty(name = "events.transport", havingValue = "in-memory", matchIfMissing = true)
+public class LocalTokenRevocationBroadcaster implements TokenRevocationBroadcaster {
+    @Override
+    public void broadcast(TokenRevocation revocation) {
+    }
+}
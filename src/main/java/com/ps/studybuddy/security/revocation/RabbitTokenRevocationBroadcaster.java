@@ -0,0 +1,64 @@
+package com.ps.studybuddy.security.revocation;
+
+import com.ps.studybuddy.services.TokenRevocationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Broadcasts revocations through a fanout exchange, like the group details evictions. Every node binds its own
+ * auto-delete queue to the exchange, so every node, including the sender, receives every revocation.
+ */
+@Configuration
+@Lazy(false)
+@ConditionalOnProperty(name = "events.transport", havingValue = "rabbit")
+public class RabbitTokenRevocationBroadcaster implements TokenRevocationBroadcaster {
+    public static final String TOKEN_REVOCATIONS_EXCHANGE = "studybuddy.token-revocations";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final TokenRevocationService tokenRevocationService;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public RabbitTokenRevocationBroadcaster(RabbitTemplate rabbitTemplate, @Lazy TokenRevocationService tokenRevocationService) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Bean
+    public static AnonymousQueue tokenRevocationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public static Declarables tokenRevocationBindings(AnonymousQueue tokenRevocationQueue) {
+        FanoutExchange exchange = new FanoutExchange(TOKEN_REVOCATIONS_EXCHANGE);
+        return new Declarables(exchange, BindingBuilder.bind(tokenRevocationQueue).to(exchange));
+    }
+
+    @Override
+    public void broadcast(TokenRevocation revocation) {
+        try {
+            this.rabbitTemplate.convertAndSend(TOKEN_REVOCATIONS_EXCHANGE, "", revocation);
+        } catch (AmqpException e) {
+            // the other nodes learn of the revocation on their next refresh of the revocation tables
+            LOGGER.error("Could not broadcast the revocation " + revocation + ": " + e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = "#{tokenRevocationQueue.name}")
+    public void receive(TokenRevocation revocation) {
+        this.tokenRevocationService.apply(revocation);
+    }
+}
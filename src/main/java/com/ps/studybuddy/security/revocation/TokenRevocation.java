@@ -0,0 +1,28 @@
+package com.ps.studybuddy.security.revocation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * A revocation sent to the other nodes, either of one token (tokenId) or of the tokens of a subject issued before
+ * revokedBefore
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class TokenRevocation implements Serializable {
+    private String tokenId;
+    private String subject;
+    private Date revokedBefore;
+    private Date expiresDate;
+}
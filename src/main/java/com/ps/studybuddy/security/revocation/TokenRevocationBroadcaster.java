@@ -0,0 +1,9 @@
+package com.ps.studybuddy.security.revocation;
+
+/**
+ * Tells the other nodes about a committed revocation, so they reject the revoked tokens before their next refresh
+ * of the revocation tables.
+ */
+public interface TokenRevocationBroadcaster {
+    void broadcast(TokenRevocation revocation);
+}
@@ -0,0 +1,92 @@
+package com.ps.studybuddy.security.utility;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the latency of the requests, in the style of the gradient limiters. Two moving
+ * averages of the latency are kept: a short one that follows the current latency and a long one that stands for
+ * the latency without queueing. While the short average stays close to the long one the limit grows by about
+ * sqrt(limit) per sample, once requests start queueing behind a slow dependency the short average rises and the
+ * limit shrinks by their ratio. Failed requests cut the limit multiplicatively, like the decrease of AIMD.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final double SHORT_WINDOW_WEIGHT = 0.1;
+    private static final double LONG_WINDOW_WEIGHT = 1.0 / 600;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double FAILURE_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a request if the requests in flight stay under the share of the limit of its class
+     * @param limitShare the part of the limit the class of the request may use, between 0 and 1
+     * @return the number of requests in flight before this one, or -1 if the request was not admitted
+     */
+    public int tryAcquire(double limitShare) {
+        int allowed = Math.max(1, (int) (this.limit * limitShare));
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and updates the limit with its latency
+     * @param rttNanos how long the request took
+     * @param inFlightAtStart the value tryAcquire returned for the request
+     * @param failed true if the request failed, its latency is then not representative
+     */
+    public void release(long rttNanos, int inFlightAtStart, boolean failed) {
+        this.inFlight.decrementAndGet();
+        synchronized (this) {
+            if (failed) {
+                this.limit = Math.max(this.minLimit, this.limit * FAILURE_BACKOFF);
+                return;
+            }
+            if (this.longRttNanos == 0) {
+                this.shortRttNanos = rttNanos;
+                this.longRttNanos = rttNanos;
+                return;
+            }
+            this.shortRttNanos += (rttNanos - this.shortRttNanos) * SHORT_WINDOW_WEIGHT;
+            this.longRttNanos += (rttNanos - this.longRttNanos) * LONG_WINDOW_WEIGHT;
+            // after a slow period the long average is too high, pull it towards the current latency
+            if (this.longRttNanos > 2 * this.shortRttNanos) {
+                this.longRttNanos *= 0.95;
+            }
+            // a request that did not use half of the limit says nothing about whether the limit is too low
+            if (inFlightAtStart < this.limit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * this.longRttNanos / this.shortRttNanos));
+            double newLimit = this.limit * gradient + Math.sqrt(this.limit);
+            newLimit = this.limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+        }
+    }
+
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ps.studybuddy.security.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of strings. Adding and checking are lock-free and can run concurrently, a value that was
+ * added is always reported, a value that was not is reported with the false positive probability the filter was
+ * sized for.
+ */
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        this.bitCount = this.words.length() * 64L;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * @param expectedInsertions number of values the filter is sized for
+     * @param falsePositiveProbability false positive probability once expectedInsertions values were added
+     */
+    public static BloomFilter create(int expectedInsertions, double falsePositiveProbability) {
+        int insertions = Math.max(1, expectedInsertions);
+        long bitCount = (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+        return new BloomFilter(Math.max(64, bitCount), hashCount);
+    }
+
+    public void add(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < this.hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, this.bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = this.words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!this.words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < this.hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, this.bitCount);
+            if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes, finished with the splitmix64 mixer
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -4,6 +4,7 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.ps.studybuddy.domain.entities.UserPrincipal;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static com.ps.studybuddy.security.constant.SecurityConstant.*;
@@ -33,6 +35,7 @@ public class JWTTokenProvider {
         return JWT.create()
                 .withIssuer(ISSUER)
                 .withAudience(AUDIENCE)
+                .withJWTId(UUID.randomUUID().toString())
                 .withIssuedAt(new Date())
                 .withSubject(userPrincipal.getUsername())
                 .withArrayClaim(AUTHORITIES, claims)
@@ -40,14 +43,22 @@ public class JWTTokenProvider {
                 .sign(Algorithm.HMAC512(secret.getBytes()));
     }
 
+    /**
+     * Verifies the signature and the issuer of the token once, the claims are then read from the returned token
+     * @param token the encoded token
+     * @return the verified token
+     */
+    public DecodedJWT verifyToken(String token) {
+        return getJWTVerifier().verify(token);
+    }
+
     public List<GrantedAuthority> getAuthorities(String token) {
-        String[] claims = getClaimsFromToken(token);
-        return stream(claims).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+        return getAuthorities(verifyToken(token));
     }
 
-    private String[] getClaimsFromToken(String token) {
-        JWTVerifier verifier = getJWTVerifier();
-        return verifier.verify(token).getClaim(AUTHORITIES).asArray(String.class);
+    public List<GrantedAuthority> getAuthorities(DecodedJWT decodedJWT) {
+        String[] claims = decodedJWT.getClaim(AUTHORITIES).asArray(String.class);
+        return stream(claims).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
     }
 
     private JWTVerifier getJWTVerifier() {
@@ -68,18 +79,20 @@ public class JWTTokenProvider {
     }
 
     public boolean isTokenValid(String username, String token) {
-        JWTVerifier verifier = getJWTVerifier();
-        return StringUtils.isNotEmpty(username) && !isTokenExpired(verifier, token);
+        return StringUtils.isNotEmpty(username) && !isTokenExpired(verifyToken(token));
+    }
+
+    public boolean isTokenValid(DecodedJWT decodedJWT) {
+        return StringUtils.isNotEmpty(decodedJWT.getSubject()) && !isTokenExpired(decodedJWT);
     }
 
-    private boolean isTokenExpired(JWTVerifier verifier, String token) {
-        Date expiration = verifier.verify(token).getExpiresAt();
+    private boolean isTokenExpired(DecodedJWT decodedJWT) {
+        Date expiration = decodedJWT.getExpiresAt();
         return expiration.before(new Date());
     }
 
     public String getSubject(String token) {
-        JWTVerifier verifier = getJWTVerifier();
-        return verifier.verify(token).getSubject();
+        return verifyToken(token).getSubject();
     }
 
     private String[] getClaimsFromUser(UserPrincipal user) {
@@ -0,0 +1,18 @@
+package com.ps.studybuddy.security.utility;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * How many requests a caller can make to the matching route: a burst of capacity requests, refilled at
+ * refillPerMinute requests per minute. A null method matches every method.
+ */
+@Getter
+@AllArgsConstructor
+public class RateLimitBudget {
+    private final String name;
+    private final String method;
+    private final String pathPattern;
+    private final int capacity;
+    private final int refillPerMinute;
+}
@@ -0,0 +1,16 @@
+package com.ps.studybuddy.security.utility;
+
+import com.ps.studybuddy.security.filter.Criticality;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The criticality of the requests to the matching route. A null method matches every method.
+ */
+@Getter
+@AllArgsConstructor
+public class RouteCriticality {
+    private final String method;
+    private final String pathPattern;
+    private final Criticality criticality;
+}
@@ -0,0 +1,45 @@
+package com.ps.studybuddy.security.utility;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (the GCRA form of the token bucket): every
+ * request moves the time forward by one emission interval, and a request is allowed as long as the time is at
+ * most capacity - 1 intervals ahead of now. A bucket whose time is in the past is full, so it can be dropped and
+ * recreated without changing any decision.
+ */
+public class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(RateLimitBudget budget, long nowNanos) {
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / budget.getRefillPerMinute();
+        this.burstToleranceNanos = this.emissionIntervalNanos * (budget.getCapacity() - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if there is one
+     * @param nowNanos current System.nanoTime()
+     * @return 0 if the token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long theoreticalArrival = this.theoreticalArrivalNanos.get();
+            long allowedAt = theoreticalArrival - this.burstToleranceNanos;
+            if (nowNanos - allowedAt < 0) {
+                return allowedAt - nowNanos;
+            }
+            long next = Math.max(theoreticalArrival, nowNanos) + this.emissionIntervalNanos;
+            if (this.theoreticalArrivalNanos.compareAndSet(theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long nowNanos) {
+        return this.theoreticalArrivalNanos.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,173 @@
+package com.ps.studybuddy.services;
+
+import com.ps.studybuddy.domain.dtos.DashboardDTO;
+import com.ps.studybuddy.domain.dtos.DashboardGroupDTO;
+import com.ps.studybuddy.domain.dtos.LocationDTO;
+import com.ps.studybuddy.domain.entities.DashboardEntry;
+import com.ps.studybuddy.domain.entities.Group;
+import com.ps.studybuddy.domain.enumeration.GroupRole;
+import com.ps.studybuddy.domain.entities.GroupMemberId;
+import com.ps.studybuddy.domain.repositories.DashboardEntryRepository;
+import com.ps.studybuddy.domain.repositories.GroupMemberRepository;
+import com.ps.studybuddy.domain.repositories.GroupRepository;
+import com.ps.studybuddy.domain.repositories.UserRepository;
+import com.ps.studybuddy.events.GroupEvent;
+import com.ps.studybuddy.events.GroupEventHandler;
+import com.ps.studybuddy.exception.domain.AnonymousUserException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and serves the per-user dashboard read model. Group events reach it through the outbox relay after the
+ * change committed, so the dashboard lags behind by about outbox.relay.interval-millis, and every event only touches
+ * the rows of the affected group or member.
+ * <p>
+ * Events can be delivered more than once and, across relay batches, out of order. The rows are therefore derived
+ * from the current state of the group instead of from the event alone: an entry exists while the user is a member,
+ * and the admin is the current admin of the group.
+ */
+@Service
+@Lazy(false)
+@Transactional
+public class DashboardService implements GroupEventHandler {
+    private final DashboardEntryRepository dashboardEntryRepository;
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public DashboardService(DashboardEntryRepository dashboardEntryRepository, GroupRepository groupRepository,
+                            GroupMemberRepository groupMemberRepository, UserRepository userRepository) {
+        this.dashboardEntryRepository = dashboardEntryRepository;
+        this.groupRepository = groupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Reads the dashboard of the authenticated user with a single query on the read model
+     * @param authentication the authentication object
+     * @return DashboardDTO the groups of the user with their role, location and next meeting
+     * @throws AnonymousUserException if the user is anonymous/has no authentication
+     */
+    @Transactional(readOnly = true)
+    public DashboardDTO findDashboard(Authentication authentication) throws AnonymousUserException {
+        if (authentication instanceof AnonymousAuthenticationToken) {
+            throw new AnonymousUserException("Anonymous user cannot have a dashboard");
+        }
+        List<DashboardGroupDTO> groups = this.dashboardEntryRepository.findDashboardOfUser(authentication.getName())
+                .stream()
+                .map(this::mapDashboardEntryToDashboardGroupDTO)
+                .collect(Collectors.toList());
+        return DashboardDTO.builder().groups(groups).build();
+    }
+
+    /**
+     * Applies the event in its own transaction, a failing event does not roll back the relay batch it came with
+     * @param event the committed group event
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handle(GroupEvent event) {
+        Date now = new Date();
+        switch (event.getType()) {
+            case GROUP_CREATED:
+            case MEMBER_JOINED:
+            case MEMBER_LEFT:
+            case MEMBER_KICKED:
+                Optional<Group> memberGroup = findGroup(event);
+                if (memberGroup.isPresent() && isMember(event)) {
+                    addEntry(memberGroup.get(), event, now);
+                } else {
+                    this.dashboardEntryRepository.deleteByGroupIdAndUserId(event.getGroupId(), event.getUserId());
+                }
+                break;
+            case ADMIN_CHANGED:
+                findGroup(event).ifPresent(current -> {
+                    UUID adminId = current.getAdmin().getId();
+                    this.dashboardEntryRepository.demoteFormerAdmins(current.getId(), adminId,
+                            GroupRole.ADMIN, GroupRole.MEMBER, now);
+                    this.dashboardEntryRepository.updateRole(current.getId(), adminId, GroupRole.ADMIN, now);
+                });
+                break;
+            case GROUP_UPDATED:
+            case MEETING_DATES_CHANGED:
+                findGroup(event).ifPresent(group -> this.dashboardEntryRepository.updateGroupColumns(group.getId(),
+                        group.getName(), group.getLocation().getId(), group.getLocation().getName(),
+                        group.getLocation().getLatitude(), group.getLocation().getLongitude(),
+                        findNextMeetingDate(group, now), now));
+                break;
+            case GROUP_DELETED:
+                this.dashboardEntryRepository.deleteByGroupId(event.getGroupId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Moves the next meeting date of the entries whose meeting has already started to the following meeting
+     */
+    @Scheduled(fixedDelayString = "${dashboard.refresh-interval-millis}")
+    public void refreshPastNextMeetingDates() {
+        this.dashboardEntryRepository.refreshPastNextMeetingDates(new Date());
+    }
+
+    private Optional<Group> findGroup(GroupEvent event) {
+        return this.groupRepository.findById(event.getGroupId());
+    }
+
+    private boolean isMember(GroupEvent event) {
+        return this.groupMemberRepository.existsById(new GroupMemberId(event.getGroupId(), event.getUserId()));
+    }
+
+    private void addEntry(Group group, GroupEvent event, Date now) {
+        this.userRepository.findById(event.getUserId()).ifPresent(user -> this.dashboardEntryRepository.save(
+                DashboardEntry.builder()
+                        .userId(user.getId())
+                        .groupId(group.getId())
+                        .role(group.getAdmin().getId().equals(user.getId()) ? GroupRole.ADMIN : GroupRole.MEMBER)
+                        .groupName(group.getName())
+                        .locationId(group.getLocation().getId())
+                        .locationName(group.getLocation().getName())
+                        .latitude(group.getLocation().getLatitude())
+                        .longitude(group.getLocation().getLongitude())
+                        .nextMeetingDate(findNextMeetingDate(group, now))
+                        .updatedDate(now)
+                        .build()));
+    }
+
+    private Date findNextMeetingDate(Group group, Date now) {
+        return group.getMeetingDates().stream()
+                .filter(date -> date.after(now))
+                .min(Date::compareTo)
+                .orElse(null);
+    }
+
+    private DashboardGroupDTO mapDashboardEntryToDashboardGroupDTO(DashboardEntry entry) {
+        return DashboardGroupDTO.builder()
+                .groupId(entry.getGroupId())
+                .groupName(entry.getGroupName())
+                .role(entry.getRole())
+                .location(LocationDTO.builder()
+                        .id(entry.getLocationId())
+                        .name(entry.getLocationName())
+                        .latitude(entry.getLatitude())
+                        .longitude(entry.getLongitude())
+                        .build())
+                .nextMeetingDate(entry.getNextMeetingDate())
+                .build();
+    }
+}
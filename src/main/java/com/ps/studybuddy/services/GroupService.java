@@ -1,48 +1,79 @@
 package com.ps.studybuddy.services;
 
+import com.ps.studybuddy.cache.GroupDetailsCache;
 import com.ps.studybuddy.domain.dtos.*;
 import com.ps.studybuddy.domain.entities.Group;
 import com.ps.studybuddy.domain.entities.Location;
 import com.ps.studybuddy.domain.entities.Topic;
 import com.ps.studybuddy.domain.entities.User;
+import com.ps.studybuddy.domain.enumeration.GroupEventType;
+import com.ps.studybuddy.domain.projections.GroupMemberCountView;
+import com.ps.studybuddy.domain.projections.GroupMemberView;
+import com.ps.studybuddy.domain.repositories.GroupMemberRepository;
 import com.ps.studybuddy.domain.repositories.GroupRepository;
 import com.ps.studybuddy.domain.repositories.LocationRepository;
 import com.ps.studybuddy.domain.repositories.TopicRepository;
 import com.ps.studybuddy.domain.repositories.UserRepository;
+import com.ps.studybuddy.events.GroupEvent;
 import com.ps.studybuddy.exception.domain.*;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class GroupService {
+    public static final Set<String> GROUP_FIELDS =
+            Set.of("id", "name", "description", "location", "nextMeetingDate", "topics");
+    public static final Set<String> GROUP_DETAILS_FIELDS =
+            Set.of("id", "name", "description", "location", "admin", "members", "memberCount", "meetingDates", "topics");
+    // matches hibernate.default_batch_fetch_size, the topics of a batch are loaded in one query
+    public static final int MAX_BATCH_SIZE = 100;
+    // the members of GroupDetailsDTO are the first members to join, the others are paged through the roster
+    public static final int MEMBER_PREVIEW_SIZE = 20;
+    public static final int DEFAULT_MEMBER_PAGE_SIZE = 20;
+    public static final int MAX_MEMBER_PAGE_SIZE = 100;
+    public static final String MEMBER_ORDER_JOINED_DATE = "joinedDate";
+    public static final String MEMBER_ORDER_USERNAME = "username";
+    public static final String INVALID_MEMBER_CURSOR = "The cursor is not a cursor of this roster order";
+
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
+    private final GroupMemberRepository groupMemberRepository;
     private final TopicRepository topicRepository;
     private final LocationRepository locationRepository;
     private final ModelMapper modelMapper;
     private final UserService userService;
     private final TopicService topicService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GroupDetailsCache groupDetailsCache;
 
     @Autowired
-    public GroupService(GroupRepository groupRepository, UserRepository userRepository, TopicRepository topicRepository,
+    public GroupService(GroupRepository groupRepository, UserRepository userRepository,
+                        GroupMemberRepository groupMemberRepository, TopicRepository topicRepository,
                         LocationRepository locationRepository, ModelMapper modelMapper, UserService userService,
-                        TopicService topicService) {
+                        TopicService topicService, ApplicationEventPublisher eventPublisher,
+                        GroupDetailsCache groupDetailsCache) {
         this.groupRepository = groupRepository;
         this.userRepository = userRepository;
+        this.groupMemberRepository = groupMemberRepository;
         this.topicRepository = topicRepository;
         this.locationRepository = locationRepository;
         this.modelMapper = modelMapper;
         this.userService = userService;
         this.topicService = topicService;
+        this.eventPublisher = eventPublisher;
+        this.groupDetailsCache = groupDetailsCache;
     }
 
     public void createGroup(GroupCreateDTO dto, Authentication authentication) throws AnonymousUserException {
@@ -61,11 +92,12 @@ public class GroupService {
         List<Topic> topics = createListOfTopics(dto.getTopics(), group);
         group.setTopics(topics);
         group.setAdmin(admin);
-        group.setMembers(new ArrayList<>());
+        group.setMembers(new HashSet<>());
         group.getMembers().add(admin);
         group.setCreatedDate(new Date());
         group.setMeetingDates(new ArrayList<>());
         groupRepository.save(group);
+        publishGroupEvent(GroupEventType.GROUP_CREATED, group.getId(), admin.getId());
     }
 
     /**
@@ -101,6 +133,7 @@ public class GroupService {
             group.setLocation(newLocation);
         }
         groupRepository.save(group);
+        publishGroupEvent(GroupEventType.GROUP_UPDATED, group.getId(), group.getAdmin().getId());
     }
 
     private List<Topic> createListOfTopics(List<TopicDTO> topicDTOs, Group group) {
@@ -141,7 +174,7 @@ public class GroupService {
             throw new EntityNotFoundException("User is not the admin of the group");
         }
         Group group = groupOptional.get();
-        List<User> members = group.getMembers();
+        Set<User> members = group.getMembers();
         for (User member : members) {
             member.getGroupsWhereMember().remove(group);
             this.userRepository.save(member);
@@ -152,6 +185,7 @@ public class GroupService {
             this.topicRepository.save(topic);
         }
         groupRepository.delete(group);
+        publishGroupEvent(GroupEventType.GROUP_DELETED, groupId, admin.getId());
     }
 
     /**
@@ -160,16 +194,31 @@ public class GroupService {
      * @return GroupDTO
      */
     private GroupDTO mapGroupToGroupDTO(Group group) {
+        return mapGroupToGroupDTO(group, FieldSelection.all());
+    }
+
+    /**
+     * Maps only the selected fields of the group, the associations of the fields that were not selected are not
+     * touched and stay unloaded
+     * @param group the group to be mapped
+     * @param fields the selected fields of the GroupDTO
+     * @return GroupDTO
+     */
+    private GroupDTO mapGroupToGroupDTO(Group group, FieldSelection fields) {
         GroupDTO dto = GroupDTO.builder()
                 .id(group.getId())
                 .name(group.getName())
                 .description(group.getDescription())
-                .location(this.modelMapper.map(group.getLocation(), LocationDTO.class))
-                .topics(group.getTopics().stream()
-                        .map(topic -> this.modelMapper.map(topic, TopicDTO.class))
-                        .collect(Collectors.toList()))
                 .build();
-        if (group.getMeetingDates().isEmpty()){
+        if (fields.includes("location")) {
+            dto.setLocation(this.modelMapper.map(group.getLocation(), LocationDTO.class));
+        }
+        if (fields.includes("topics")) {
+            dto.setTopics(group.getTopics().stream()
+                    .map(topic -> this.modelMapper.map(topic, TopicDTO.class))
+                    .collect(Collectors.toList()));
+        }
+        if (!fields.includes("nextMeetingDate") || group.getMeetingDates().isEmpty()){
             dto.setNextMeetingDate(null);
         } else {
             Date nextMeetingDate = group.getMeetingDates().stream()
@@ -181,33 +230,192 @@ public class GroupService {
         return dto;
     }
 
+    @Transactional(readOnly = true)
     public List<GroupDTO> findAll() {
         return this.groupRepository.findAll().stream()
                 .map(this::mapGroupToGroupDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lists the groups with only the selected fields, the fetch plan loads only the associations behind them
+     * @param fields the selected fields of the GroupDTO
+     * @return List of GroupDTO
+     */
+    @Transactional(readOnly = true)
+    public List<GroupDTO> findAll(FieldSelection fields) {
+        if (fields.isAll()) {
+            return findAll();
+        }
+        return this.groupRepository.findAllFetching(associationsOf(fields)).stream()
+                .map(group -> mapGroupToGroupDTO(group, fields))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the details of the group. Callers cache them through GroupDetailsCache.get, which takes the read stamp
+     * before this transaction starts. The transaction is read-write so the group is read from the primary: a replica
+     * lagging behind the change that evicted the group would otherwise cache its previous state until it expires.
+     * @param id id of the group
+     * @return GroupDetailsDTO
+     * @throws EntityNotFoundException if the group does not exist
+     */
+    @Transactional
     public GroupDetailsDTO findById(UUID id) throws EntityNotFoundException {
         Optional<Group> groupOptional = this.groupRepository.findByIdOrderByMeetingDatesAsc(id);
         if(groupOptional.isEmpty()) {
             throw new EntityNotFoundException(Group.class.getSimpleName() + " with id: " + id + " not found");
         }
-        Group group = groupOptional.get();
-        GroupDetailsDTO dto = GroupDetailsDTO.builder()
+        List<GroupMemberView> firstMembers = this.groupMemberRepository.findMembersByJoinedDate(id,
+                PageRequest.of(0, MEMBER_PREVIEW_SIZE));
+        return mapGroupToGroupDetailsDTO(groupOptional.get(), firstMembers, this.groupMemberRepository.countMembers(id));
+    }
+
+    /**
+     * Looks up the details of several groups at once. The cached details are reused, the other groups are loaded
+     * with a fixed number of queries whatever the number of ids: one for the groups with their location, admin and
+     * meeting dates, one for their first members, one for their member counts and one batch for the topics. The
+     * loaded details are cached unless their group was evicted while they were read, see GroupDetailsCache. Like
+     * findById the groups are read from the primary because they are cached, a batch answered from the cache alone
+     * does not borrow a connection.
+     * @param ids ids of the groups, duplicates are allowed
+     * @return one GroupBatchEntryDTO per requested id, in the order of the request
+     * @throws BatchTooLargeException if more than MAX_BATCH_SIZE ids are requested
+     */
+    @Transactional
+    public List<GroupBatchEntryDTO> findByIds(List<UUID> ids) throws BatchTooLargeException {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException("At most " + MAX_BATCH_SIZE + " groups can be requested at once");
+        }
+        Map<UUID, GroupDetailsDTO> details = new HashMap<>();
+        // read stamps of the groups that are not cached, taken before any of them is read
+        Map<UUID, Long> missing = new HashMap<>();
+        for (UUID id : ids) {
+            GroupDetailsDTO cached = this.groupDetailsCache.getIfPresent(id);
+            if (cached != null) {
+                details.put(id, cached);
+            } else {
+                missing.putIfAbsent(id, this.groupDetailsCache.readStamp(id));
+            }
+        }
+        List<Group> groups = missing.isEmpty()
+                ? Collections.emptyList()
+                : this.groupRepository.findGroupDetailsByIdIn(missing.keySet());
+        if (!groups.isEmpty()) {
+            Set<UUID> groupIds = groups.stream().map(Group::getId).collect(Collectors.toSet());
+            Map<UUID, List<GroupMemberView>> firstMembers = this.groupMemberRepository
+                    .findFirstMembersOfGroups(groupIds, MEMBER_PREVIEW_SIZE).stream()
+                    .collect(Collectors.groupingBy(GroupMemberView::getGroupId));
+            Map<UUID, Long> memberCounts = this.groupMemberRepository.countMembersOfGroups(groupIds).stream()
+                    .collect(Collectors.toMap(GroupMemberCountView::getGroupId, GroupMemberCountView::getMemberCount));
+            for (Group group : groups) {
+                GroupDetailsDTO dto = mapGroupToGroupDetailsDTO(group,
+                        firstMembers.getOrDefault(group.getId(), Collections.emptyList()),
+                        memberCounts.getOrDefault(group.getId(), 0L));
+                this.groupDetailsCache.put(dto, missing.get(group.getId()));
+                details.put(group.getId(), dto);
+            }
+        }
+        return ids.stream()
+                .map(id -> GroupBatchEntryDTO.builder()
+                        .id(id)
+                        .found(details.containsKey(id))
+                        .group(details.get(id))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private GroupDetailsDTO mapGroupToGroupDetailsDTO(Group group, List<GroupMemberView> firstMembers, long memberCount) {
+        return GroupDetailsDTO.builder()
                 .id(group.getId())
                 .description(group.getDescription())
                 .name(group.getName())
                 .location(this.modelMapper.map(group.getLocation(), LocationDTO.class))
                 .admin(this.modelMapper.map(group.getAdmin(), UserDTO.class))
-                .members(this.findAllMembersOfGroup(group.getId()))
-                .meetingDates(group.getMeetingDates())
+                .members(firstMembers.stream()
+                        .map(this::mapGroupMemberToUserDTO)
+                        .collect(Collectors.toList()))
+                .memberCount(memberCount)
+                .meetingDates(group.getMeetingDates().stream()
+                        .sorted()
+                        .collect(Collectors.toList()))
                 .topics(group.getTopics().stream()
                         .map(topic -> this.modelMapper.map(topic, TopicDTO.class))
                         .collect(Collectors.toList()))
                 .build();
+    }
+
+    /**
+     * Builds the details of the group with only the selected fields. Cached full details are reused, otherwise the
+     * group is loaded with a fetch plan limited to the associations behind the selected fields and the partial
+     * details are not cached.
+     * @param id id of the group
+     * @param fields the selected fields of the GroupDetailsDTO
+     * @return GroupDetailsDTO
+     * @throws EntityNotFoundException if the group does not exist
+     */
+    @Transactional(readOnly = true)
+    public GroupDetailsDTO findById(UUID id, FieldSelection fields) throws EntityNotFoundException {
+        GroupDetailsDTO cached = this.groupDetailsCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<Group> groupOptional = this.groupRepository.findByIdFetching(id, associationsOf(fields));
+        if(groupOptional.isEmpty()) {
+            throw new EntityNotFoundException(Group.class.getSimpleName() + " with id: " + id + " not found");
+        }
+        Group group = groupOptional.get();
+        GroupDetailsDTO dto = GroupDetailsDTO.builder()
+                .id(group.getId())
+                .description(group.getDescription())
+                .name(group.getName())
+                .build();
+        if (fields.includes("location")) {
+            dto.setLocation(this.modelMapper.map(group.getLocation(), LocationDTO.class));
+        }
+        if (fields.includes("admin")) {
+            dto.setAdmin(this.modelMapper.map(group.getAdmin(), UserDTO.class));
+        }
+        if (fields.includes("members")) {
+            dto.setMembers(this.groupMemberRepository.findMembersByJoinedDate(id, PageRequest.of(0, MEMBER_PREVIEW_SIZE))
+                    .stream()
+                    .map(this::mapGroupMemberToUserDTO)
+                    .collect(Collectors.toList()));
+        }
+        if (fields.includes("memberCount")) {
+            dto.setMemberCount(this.groupMemberRepository.countMembers(id));
+        }
+        if (fields.includes("meetingDates")) {
+            dto.setMeetingDates(group.getMeetingDates().stream()
+                    .sorted()
+                    .collect(Collectors.toList()));
+        }
+        if (fields.includes("topics")) {
+            dto.setTopics(group.getTopics().stream()
+                    .map(topic -> this.modelMapper.map(topic, TopicDTO.class))
+                    .collect(Collectors.toList()));
+        }
         return dto;
     }
 
+    /**
+     * @param fields the selected fields of a GroupDTO or GroupDetailsDTO
+     * @return the associations of the Group entity the selected fields are read from
+     */
+    private Set<String> associationsOf(FieldSelection fields) {
+        Set<String> associations = new HashSet<>();
+        for (String association : List.of("location", "admin", "meetingDates", "topics")) {
+            if (fields.includes(association)) {
+                associations.add(association);
+            }
+        }
+        if (fields.includes("nextMeetingDate")) {
+            associations.add("meetingDates");
+        }
+        return associations;
+    }
+
+    @Transactional(readOnly = true)
     public List<GroupDTO> findGroupsWhereUserIsAdmin(Authentication authentication) throws AnonymousUserException {
         if (authentication instanceof AnonymousAuthenticationToken) {
             throw new AnonymousUserException("Anonymous user cannot create a group");
@@ -220,6 +428,7 @@ public class GroupService {
     }
 
 
+    @Transactional(readOnly = true)
     public List<GroupDTO> findGroupsWhereUserIsMember(UUID id) {
         Optional<User> userOptional = this.userRepository.findById(id);
         if(userOptional.isEmpty()) {
@@ -236,6 +445,7 @@ public class GroupService {
      * @return List<GroupDTO> list of groups where the user is the admin
      * @throws AnonymousUserException if the user is anonymous
      */
+    @Transactional(readOnly = true)
     public List<GroupDTO> findGroupsWhereUserIsMember(Authentication authentication) throws AnonymousUserException {
         User authenticatedUser = this.checkAuthenticationAndGetUser(authentication);
         return this.groupRepository.findGroupsByMembersContaining(authenticatedUser).stream()
@@ -256,6 +466,7 @@ public class GroupService {
         authenticatedUser.getGroupsWhereMember().add(group);
         group.getMembers().add(authenticatedUser);
         groupRepository.save(group);
+        publishGroupEvent(GroupEventType.MEMBER_JOINED, groupId, authenticatedUser.getId());
     }
 
     public void userLeaveGroup(UUID groupId, Authentication authentication) throws AnonymousUserException, UserNotFoundInGroupException {
@@ -268,16 +479,19 @@ public class GroupService {
         if(!group.getMembers().contains(authenticatedUser)) {
             throw new UserNotFoundInGroupException("User is not a member of the group");
         }
-        int membersListSize = group.getMembers().size();
         // check if user is admin of the group
         if(group.getAdmin().getId().equals(authenticatedUser.getId())) {
-            // if user is admin and there are other members, set the first member as admin
-            if(membersListSize > 1) {
-                group.setAdmin(group.getMembers().get(1));
+            // if user is admin and there are other members, the member who joined first becomes admin
+            List<User> nextAdmins = this.groupMemberRepository.findFirstJoinedMembers(groupId,
+                    authenticatedUser.getId(), PageRequest.of(0, 1));
+            if(!nextAdmins.isEmpty()) {
+                group.setAdmin(nextAdmins.get(0));
                 authenticatedUser.getGroupsWhereMember().remove(group);
                 group.getMembers().remove(authenticatedUser);
                 userRepository.save(authenticatedUser);
                 groupRepository.save(group);
+                publishGroupEvent(GroupEventType.MEMBER_LEFT, groupId, authenticatedUser.getId());
+                publishGroupEvent(GroupEventType.ADMIN_CHANGED, groupId, group.getAdmin().getId());
             } else {
                 // if user is admin and there are no other members, delete the group
                 this.deleteGroup(groupId, authentication);
@@ -287,6 +501,7 @@ public class GroupService {
             group.getMembers().remove(authenticatedUser);
             userRepository.save(authenticatedUser);
             groupRepository.save(group);
+            publishGroupEvent(GroupEventType.MEMBER_LEFT, groupId, authenticatedUser.getId());
         }
     }
 
@@ -318,6 +533,7 @@ public class GroupService {
         group.getMembers().remove(user);
         userRepository.save(user);
         groupRepository.save(group);
+        publishGroupEvent(GroupEventType.MEMBER_KICKED, groupId, userId);
     }
 
     public void promoteUserToAdmin(UUID groupId, UUID userId, Authentication authentication) throws AnonymousUserException, NotAdminOfGroupException, IsAdminOfGroupException, UserNotFoundInGroupException {
@@ -347,16 +563,109 @@ public class GroupService {
         this.userRepository.save(authenticatedUser);
         this.userRepository.save(user);
         groupRepository.save(group);
+        publishGroupEvent(GroupEventType.ADMIN_CHANGED, groupId, userId);
     }
 
-    public List<UserDTO> findAllMembersOfGroup(UUID groupId) {
-        Optional<Group> groupOptional = this.groupRepository.findById(groupId);
-        if(groupOptional.isEmpty()) {
+    /**
+     * Pages through the members of the group in join order or by username, without loading the member collection
+     * of the group. The cursor of a page is the position of its last member, the next page starts right after it.
+     * @param groupId id of the group
+     * @param order joinedDate or username, any other value falls back to joinedDate
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param size number of members per page, capped at MAX_MEMBER_PAGE_SIZE
+     * @return GroupMemberPageDTO
+     * @throws InvalidCursorException if the cursor was not issued for this order
+     * @throws EntityNotFoundException if the group does not exist
+     */
+    @Transactional(readOnly = true)
+    public GroupMemberPageDTO findMembersOfGroup(UUID groupId, String order, String cursor, int size)
+            throws InvalidCursorException, EntityNotFoundException {
+        String memberOrder = MEMBER_ORDER_USERNAME.equals(order) ? MEMBER_ORDER_USERNAME : MEMBER_ORDER_JOINED_DATE;
+        // one member more than the page tells whether there is a next page
+        int pageSize = Math.max(1, Math.min(size, MAX_MEMBER_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<GroupMemberView> members;
+        if (cursor == null) {
+            members = memberOrder.equals(MEMBER_ORDER_USERNAME)
+                    ? this.groupMemberRepository.findMembersByUsername(groupId, limit)
+                    : this.groupMemberRepository.findMembersByJoinedDate(groupId, limit);
+        } else {
+            String[] position = decodeMemberCursor(cursor, memberOrder);
+            try {
+                members = memberOrder.equals(MEMBER_ORDER_USERNAME)
+                        ? this.groupMemberRepository.findMembersByUsernameAfter(groupId, position[1], limit)
+                        : this.groupMemberRepository.findMembersByJoinedDateAfter(groupId,
+                                new Date(Long.parseLong(position[1])), UUID.fromString(position[2]), limit);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new InvalidCursorException(INVALID_MEMBER_CURSOR);
+            }
+        }
+        if (members.isEmpty() && cursor == null && !this.groupRepository.existsById(groupId)) {
             throw new EntityNotFoundException(Group.class.getSimpleName() + " with id: " + groupId + " not found");
         }
-        return groupOptional.get().getMembers().stream()
-                .map(user -> this.modelMapper.map(user, UserDTO.class))
-                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (members.size() > pageSize) {
+            members = members.subList(0, pageSize);
+            nextCursor = encodeMemberCursor(members.get(pageSize - 1), memberOrder);
+        }
+        return GroupMemberPageDTO.builder()
+                .members(members.stream()
+                        .map(this::mapGroupMemberToUserDTO)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Counts the members of the group with an index-only count on group_members
+     * @param groupId id of the group
+     * @return number of members
+     * @throws EntityNotFoundException if the group does not exist
+     */
+    @Transactional(readOnly = true)
+    public long countMembersOfGroup(UUID groupId) throws EntityNotFoundException {
+        long count = this.groupMemberRepository.countMembers(groupId);
+        // a group always has its admin as member
+        if (count == 0 && !this.groupRepository.existsById(groupId)) {
+            throw new EntityNotFoundException(Group.class.getSimpleName() + " with id: " + groupId + " not found");
+        }
+        return count;
+    }
+
+    private String encodeMemberCursor(GroupMemberView member, String order) {
+        String position = order.equals(MEMBER_ORDER_USERNAME)
+                ? order + "|" + member.getUsername()
+                : order + "|" + member.getJoinedDate().getTime() + "|" + member.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeMemberCursor(String cursor, String order) throws InvalidCursorException {
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(INVALID_MEMBER_CURSOR);
+        }
+        // usernames may contain the separator, so a username cursor is split only once
+        String[] parts = position.split("\\|", order.equals(MEMBER_ORDER_USERNAME) ? 2 : 3);
+        if (!parts[0].equals(order)) {
+            throw new InvalidCursorException(INVALID_MEMBER_CURSOR);
+        }
+        return parts;
+    }
+
+    private UserDTO mapGroupMemberToUserDTO(GroupMemberView member) {
+        return UserDTO.builder()
+                .id(member.getId())
+                .firstName(member.getFirstName())
+                .lastName(member.getLastName())
+                .username(member.getUsername())
+                .email(member.getEmail())
+                .avatarColor(member.getAvatarColor())
+                .role(member.getRole())
+                .isActive(member.isActive())
+                .isNotLocked(member.isNotLocked())
+                .build();
     }
 
     /**
@@ -389,6 +698,7 @@ public class GroupService {
         sortedMeetingDates.sort(Collections.reverseOrder());
         group.setMeetingDates(sortedMeetingDates);
         groupRepository.save(group);
+        publishGroupEvent(GroupEventType.MEETING_DATES_CHANGED, group.getId(), authenticatedUser.getId());
     }
 
     /**
@@ -414,6 +724,23 @@ public class GroupService {
         }
 
         groupRepository.save(group);
+        publishGroupEvent(GroupEventType.MEETING_DATES_CHANGED, group.getId(), authenticatedUser.getId());
+    }
+
+    /**
+     * Publishes a group event inside the current transaction, it only leaves this node once the transaction commits
+     * @param type what happened to the group
+     * @param groupId id of the group
+     * @param userId id of the member the event is about
+     */
+    private void publishGroupEvent(GroupEventType type, UUID groupId, UUID userId) {
+        this.eventPublisher.publishEvent(GroupEvent.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .groupId(groupId)
+                .userId(userId)
+                .occurredDate(new Date())
+                .build());
     }
 
     private User checkAuthenticationAndGetUser(Authentication authentication) throws AnonymousUserException {
@@ -0,0 +1,236 @@
+package com.ps.studybuddy.services;
+
+import com.ps.studybuddy.domain.entities.RevokedSubject;
+import com.ps.studybuddy.domain.entities.RevokedToken;
+import com.ps.studybuddy.domain.repositories.RevokedSubjectRepository;
+import com.ps.studybuddy.domain.repositories.RevokedTokenRepository;
+import com.ps.studybuddy.security.revocation.TokenRevocation;
+import com.ps.studybuddy.security.revocation.TokenRevocationBroadcaster;
+import com.ps.studybuddy.security.utility.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ps.studybuddy.security.constant.SecurityConstant.EXPIRATION_TIME;
+
+/**
+ * Registry of revoked JWTs. Revocations are stored in revoked_token (one token, e.g. on logout) and revoked_subject
+ * (every token of a user issued before a date, e.g. when the user is locked). The revoked tokens are also kept in an
+ * in-memory Bloom filter, so the database is only read for the few tokens the filter reports as possibly revoked.
+ * The subject revocations are few and are kept in memory with their date, so the tokens of a revoked subject are
+ * checked without reading the database at all.
+ * <p>
+ * Committed revocations are broadcast to the other nodes through the TokenRevocationBroadcaster. The filter and the
+ * subjects are also refreshed periodically from the tables, which forgets the expired revocations and picks up the
+ * revocations whose broadcast was lost, so a node that missed a broadcast accepts a revoked token for at most the
+ * refresh interval.
+ */
+@Service
+@Lazy(false)
+public class TokenRevocationService {
+    public static final double FALSE_POSITIVE_PROBABILITY = 0.001;
+    public static final int MIN_EXPECTED_REVOCATIONS = 10_000;
+    private static final String TOKEN_PREFIX = "token:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedSubjectRepository revokedSubjectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenRevocationBroadcaster broadcaster;
+    private final Counter negativeChecks;
+    private final Counter falsePositiveChecks;
+    private final Counter revokedChecks;
+    private volatile BloomFilter revocations = BloomFilter.create(MIN_EXPECTED_REVOCATIONS, FALSE_POSITIVE_PROBABILITY);
+    // subject -> latest revocation, only updated from committed revocations and never replaced by a refresh, so a
+    // refresh that read the table just before a commit cannot drop the revocation of that commit
+    private final Map<String, RevokedSubject> revokedSubjects = new ConcurrentHashMap<>();
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  RevokedSubjectRepository revokedSubjectRepository,
+                                  PlatformTransactionManager transactionManager, TokenRevocationBroadcaster broadcaster,
+                                  MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedSubjectRepository = revokedSubjectRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.broadcaster = broadcaster;
+        this.negativeChecks = revocationCheckCounter(meterRegistry, "negative");
+        this.falsePositiveChecks = revocationCheckCounter(meterRegistry, "false-positive");
+        this.revokedChecks = revocationCheckCounter(meterRegistry, "revoked");
+    }
+
+    private Counter revocationCheckCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("token.revocation.checks")
+                .description("Revocation checks of authenticated requests by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Revokes one token, e.g. on logout
+     * @param tokenId the jti of the token
+     * @param subject the subject of the token
+     * @param expiresDate when the token expires, the revocation is kept until then
+     */
+    public void revokeToken(String tokenId, String subject, Date expiresDate) {
+        this.revokedTokenRepository.saveAndFlush(RevokedToken.builder()
+                .tokenId(tokenId)
+                .subject(subject)
+                .expiresDate(expiresDate)
+                .createdDate(new Date())
+                .build());
+        afterCommit(TokenRevocation.builder()
+                .tokenId(tokenId)
+                .subject(subject)
+                .expiresDate(expiresDate)
+                .build());
+    }
+
+    /**
+     * Revokes every token issued to the subject before the current second. Tokens issued afterwards are accepted again.
+     * @param subject the username the tokens were issued to
+     */
+    public void revokeSubject(String subject) {
+        Date now = new Date();
+        Date expiresDate = new Date(now.getTime() + EXPIRATION_TIME);
+        this.revokedSubjectRepository.save(RevokedSubject.builder()
+                .subject(subject)
+                .revokedBefore(now)
+                .expiresDate(expiresDate)
+                .build());
+        afterCommit(TokenRevocation.builder()
+                .subject(subject)
+                .revokedBefore(now)
+                .expiresDate(expiresDate)
+                .build());
+        LOGGER.info("Revoked the tokens of " + subject);
+    }
+
+    /**
+     * Applies a revocation of this node or of another one to the filter and the revoked subjects. Applying a
+     * revocation twice has no effect.
+     * @param revocation the committed revocation
+     */
+    public void apply(TokenRevocation revocation) {
+        if (revocation.getTokenId() != null) {
+            this.revocations.add(TOKEN_PREFIX + revocation.getTokenId());
+        }
+        if (revocation.getRevokedBefore() != null) {
+            addRevokedSubject(RevokedSubject.builder()
+                    .subject(revocation.getSubject())
+                    .revokedBefore(revocation.getRevokedBefore())
+                    .expiresDate(revocation.getExpiresDate())
+                    .build());
+        }
+    }
+
+    /**
+     * A revocation is applied and broadcast once the transaction that stored it commits, a rolled back revocation
+     * would otherwise stay in memory until it expires
+     */
+    private void afterCommit(TokenRevocation revocation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyAndBroadcast(revocation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyAndBroadcast(revocation);
+            }
+        });
+    }
+
+    private void applyAndBroadcast(TokenRevocation revocation) {
+        apply(revocation);
+        this.broadcaster.broadcast(revocation);
+    }
+
+    private void addRevokedSubject(RevokedSubject revokedSubject) {
+        this.revokedSubjects.merge(revokedSubject.getSubject(), revokedSubject, (current, added) ->
+                added.getRevokedBefore().after(current.getRevokedBefore()) ? added : current);
+    }
+
+    /**
+     * Checks the revoked subjects and the Bloom filter, and reads revoked_token only when the filter reports a
+     * possible revocation of the token. The read runs in a read-write transaction so it goes to the primary and sees
+     * revocations the replica has not received yet.
+     * @param tokenId the jti of the token, null for tokens issued without one
+     * @param subject the subject of the token
+     * @param issuedAt when the token was issued
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String tokenId, String subject, Date issuedAt) {
+        RevokedSubject revokedSubject = this.revokedSubjects.get(subject);
+        if (revokedSubject != null && issuedAt != null
+                && issuedAt.getTime() < wholeSeconds(revokedSubject.getRevokedBefore())) {
+            this.revokedChecks.increment();
+            return true;
+        }
+        if (tokenId == null || !this.revocations.mightContain(TOKEN_PREFIX + tokenId)) {
+            this.negativeChecks.increment();
+            return false;
+        }
+        Boolean revoked = this.transactionTemplate.execute(status -> this.revokedTokenRepository.existsById(tokenId));
+        if (Boolean.TRUE.equals(revoked)) {
+            this.revokedChecks.increment();
+            return true;
+        }
+        this.falsePositiveChecks.increment();
+        return false;
+    }
+
+    /**
+     * iat has a precision of seconds, so the tokens issued in the second of a revocation cannot be told apart. They
+     * are all accepted, which lets a user log in again right after the revocation; the tokens issued earlier in that
+     * second survive it, an allowance of at most one second.
+     */
+    private static long wholeSeconds(Date date) {
+        return date.getTime() - Math.floorMod(date.getTime(), 1000L);
+    }
+
+    @PostConstruct
+    public void loadRevocations() {
+        rebuildFilter();
+    }
+
+    /**
+     * Deletes the expired revocations, rebuilds the filter from the remaining ones and forgets the expired subjects
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.refresh-interval-millis}", initialDelayString = "${token-revocation.refresh-interval-millis}")
+    public void refreshRevocations() {
+        Date now = new Date();
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.revokedTokenRepository.deleteExpired(now);
+            this.revokedSubjectRepository.deleteExpired(now);
+        });
+        rebuildFilter();
+    }
+
+    private void rebuildFilter() {
+        Date now = new Date();
+        List<String> tokenIds = this.transactionTemplate.execute(status -> this.revokedTokenRepository.findActiveTokenIds(now));
+        List<RevokedSubject> subjects = this.transactionTemplate.execute(status -> this.revokedSubjectRepository.findActive(now));
+        int expected = Math.max(MIN_EXPECTED_REVOCATIONS, 2 * tokenIds.size());
+        BloomFilter filter = BloomFilter.create(expected, FALSE_POSITIVE_PROBABILITY);
+        tokenIds.forEach(tokenId -> filter.add(TOKEN_PREFIX + tokenId));
+        this.revocations = filter;
+        subjects.forEach(this::addRevokedSubject);
+        this.revokedSubjects.values().removeIf(revokedSubject -> !revokedSubject.getExpiresDate().after(now));
+    }
+}
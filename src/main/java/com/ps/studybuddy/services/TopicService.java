@@ -3,13 +3,16 @@ package com.ps.studybuddy.services;
 import com.ps.studybuddy.domain.dtos.TopicDTO;
 import com.ps.studybuddy.domain.entities.Group;
 import com.ps.studybuddy.domain.entities.Topic;
+import com.ps.studybuddy.domain.enumeration.GroupEventType;
 import com.ps.studybuddy.domain.repositories.GroupRepository;
 import com.ps.studybuddy.domain.repositories.TopicRepository;
+import com.ps.studybuddy.events.GroupEvent;
 import com.ps.studybuddy.exception.domain.TopicExistException;
 import com.ps.studybuddy.exception.domain.TopicNotFoundException;
 import org.apache.commons.lang3.StringUtils;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,12 +24,15 @@ public class TopicService {
     private final TopicRepository topicRepository;
     private final GroupRepository groupRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TopicService(TopicRepository topicRepository, GroupRepository groupRepository, ModelMapper modelMapper) {
+    public TopicService(TopicRepository topicRepository, GroupRepository groupRepository, ModelMapper modelMapper,
+                        ApplicationEventPublisher eventPublisher) {
         this.topicRepository = topicRepository;
         this.groupRepository = groupRepository;
         this.modelMapper = modelMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -90,6 +96,7 @@ public class TopicService {
             topic.setDescription(this.generateDefaultTopicDescription(topic.getName()));
         }
         this.topicRepository.save(topic);
+        publishTopicChanged(topic, topic.getGroups());
     }
 
     public void deleteTopic(UUID topicId) throws TopicNotFoundException {
@@ -101,9 +108,11 @@ public class TopicService {
             group.getTopics().remove(topicOptional.get());
             this.groupRepository.save(group);
         }
+        publishTopicChanged(topicOptional.get(), topicOptional.get().getGroups());
         this.topicRepository.deleteById(topicId);
     }
 
+    @Transactional(readOnly = true)
     public List<TopicDTO> getAllTopics() {
         List<Topic> topics = this.topicRepository.findAll();
         List<TopicDTO> topicDTOS = new ArrayList<>();
@@ -115,6 +124,23 @@ public class TopicService {
         return topicDTOS;
     }
 
+    /**
+     * Publishes a TOPIC_CHANGED event for every group that uses the topic
+     * @param topic the topic that was updated or deleted
+     * @param groups the groups of the topic
+     */
+    private void publishTopicChanged(Topic topic, List<Group> groups) {
+        for (Group group : groups) {
+            this.eventPublisher.publishEvent(GroupEvent.builder()
+                    .id(UUID.randomUUID())
+                    .type(GroupEventType.TOPIC_CHANGED)
+                    .groupId(group.getId())
+                    .topicId(topic.getId())
+                    .occurredDate(new Date())
+                    .build());
+        }
+    }
+
     private String generateDefaultTopicDescription(String name) {
         return "This is the default description for the topic " + StringUtils.capitalize(name) + ".";
     }
@@ -0,0 +1,276 @@
+package com.ps.studybuddy.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.domain.dtos.UserCreateDTO;
+import com.ps.studybuddy.domain.dtos.UserImportErrorDTO;
+import com.ps.studybuddy.domain.dtos.UserImportResultDTO;
+import com.ps.studybuddy.domain.entities.User;
+import com.ps.studybuddy.domain.enumeration.Role;
+import com.ps.studybuddy.domain.repositories.UserRepository;
+import com.ps.studybuddy.exception.domain.UnsupportedImportFormatException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users in bulk from a CSV or JSON file. The file is streamed and processed in chunks: every chunk is checked
+ * for username/email collisions with two set-based queries, the passwords are hashed in parallel and the remaining
+ * users are inserted in a single transaction using Hibernate's JDBC batching.
+ */
+@Service
+public class UserImportService {
+    public static final int CHUNK_SIZE = 500;
+    public static final String DEFAULT_IMPORT_ROLE = Role.ROLE_USER.name();
+    public static final String UNSUPPORTED_FORMAT = "Only CSV and JSON files can be imported";
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public UserImportService(UserRepository userRepository, UserService userService,
+                             BCryptPasswordEncoder passwordEncoder, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.hashingPool.shutdown();
+    }
+
+    /**
+     * Detects the file format from the content type or the file extension and imports every row of the file
+     * @param file a CSV file with a header row or a JSON array of UserCreateDTO objects
+     * @return UserImportResultDTO with the number of imported users and the errors of the rejected rows
+     * @throws UnsupportedImportFormatException if the file is neither CSV nor JSON
+     * @throws IOException if the file cannot be read
+     */
+    public UserImportResultDTO importUsers(MultipartFile file) throws UnsupportedImportFormatException, IOException {
+        ImportContext context = new ImportContext();
+        try (InputStream inputStream = file.getInputStream()) {
+            if (isJson(file)) {
+                importJson(inputStream, context);
+            } else if (isCsv(file)) {
+                importCsv(inputStream, context);
+            } else {
+                throw new UnsupportedImportFormatException(UNSUPPORTED_FORMAT);
+            }
+        }
+        context.flush();
+        LOGGER.info("Imported " + context.imported + " of " + context.totalRows + " users from " + file.getOriginalFilename());
+        return UserImportResultDTO.builder()
+                .totalRows(context.totalRows)
+                .imported(context.imported)
+                .failed(context.errors.size())
+                .errors(context.errors)
+                .build();
+    }
+
+    private boolean isJson(MultipartFile file) {
+        return StringUtils.containsIgnoreCase(file.getContentType(), "json")
+                || StringUtils.endsWithIgnoreCase(file.getOriginalFilename(), ".json");
+    }
+
+    private boolean isCsv(MultipartFile file) {
+        return StringUtils.containsIgnoreCase(file.getContentType(), "csv")
+                || StringUtils.endsWithIgnoreCase(file.getOriginalFilename(), ".csv");
+    }
+
+    private void importCsv(InputStream inputStream, ImportContext context) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreHeaderCase(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+             CSVParser parser = new CSVParser(reader, format)) {
+            for (CSVRecord record : parser) {
+                UserCreateDTO dto = UserCreateDTO.builder()
+                        .firstName(getCsvValue(record, "firstName"))
+                        .lastName(getCsvValue(record, "lastName"))
+                        .username(getCsvValue(record, "username"))
+                        .password(getCsvValue(record, "password"))
+                        .email(getCsvValue(record, "email"))
+                        .role(getCsvValue(record, "role"))
+                        .build();
+                context.add(new ImportRow(record.getRecordNumber(), dto));
+            }
+        }
+    }
+
+    private String getCsvValue(CSVRecord record, String column) {
+        return record.isSet(column) ? StringUtils.trimToNull(record.get(column)) : null;
+    }
+
+    private void importJson(InputStream inputStream, ImportContext context) throws IOException {
+        try (JsonParser parser = this.objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of users");
+            }
+            long rowNumber = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                rowNumber++;
+                context.add(new ImportRow(rowNumber, parser.readValueAs(UserCreateDTO.class)));
+            }
+        }
+    }
+
+    /**
+     * Validates a chunk of rows, rejects the ones whose username or email already exists, hashes the passwords of
+     * the remaining rows in parallel and inserts them in one transaction
+     * @param rows the rows of the chunk, in file order
+     * @param context the running import that collects the result
+     */
+    private void importChunk(List<ImportRow> rows, ImportContext context) {
+        List<ImportRow> validRows = new ArrayList<>();
+        for (ImportRow row : rows) {
+            String error = validateRow(row.getUser(), context);
+            if (error != null) {
+                context.reject(row, error);
+            } else {
+                validRows.add(row);
+            }
+        }
+        if (validRows.isEmpty()) {
+            return;
+        }
+        Set<String> existingUsernames = new HashSet<>(this.userRepository.findExistingUsernames(
+                validRows.stream().map(row -> row.getUser().getUsername()).collect(Collectors.toSet())));
+        Set<String> existingEmails = new HashSet<>(this.userRepository.findExistingEmails(
+                validRows.stream().map(row -> row.getUser().getEmail()).collect(Collectors.toSet())));
+        List<ImportRow> newRows = new ArrayList<>();
+        for (ImportRow row : validRows) {
+            if (existingUsernames.contains(row.getUser().getUsername())) {
+                context.reject(row, UserService.USERNAME_ALREADY_EXISTS);
+            } else if (existingEmails.contains(row.getUser().getEmail())) {
+                context.reject(row, UserService.EMAIL_ALREADY_EXISTS);
+            } else {
+                newRows.add(row);
+            }
+        }
+        if (newRows.isEmpty()) {
+            return;
+        }
+        List<User> users = this.hashingPool.submit(() -> newRows.parallelStream()
+                .map(row -> mapRowToUser(row.getUser()))
+                .collect(Collectors.toList())).join();
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> this.userRepository.saveAll(users));
+            context.imported += users.size();
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.error(e.getMessage());
+            for (ImportRow row : newRows) {
+                context.reject(row, "Row rejected by the database, the username or email was registered concurrently");
+            }
+        }
+    }
+
+    private String validateRow(UserCreateDTO dto, ImportContext context) {
+        if (StringUtils.isAnyBlank(dto.getUsername(), dto.getEmail(), dto.getPassword())) {
+            return "Username, email and password are required";
+        }
+        if (StringUtils.isBlank(dto.getRole())) {
+            dto.setRole(DEFAULT_IMPORT_ROLE);
+        }
+        try {
+            Role.valueOf(dto.getRole());
+        } catch (IllegalArgumentException e) {
+            return "Unknown role: " + dto.getRole();
+        }
+        if (!context.usernamesInFile.add(dto.getUsername())) {
+            return "Duplicate username in file";
+        }
+        if (!context.emailsInFile.add(dto.getEmail())) {
+            return "Duplicate email in file";
+        }
+        return null;
+    }
+
+    private User mapRowToUser(UserCreateDTO dto) {
+        return User.builder()
+                .createdDate(new Date())
+                .firstName(dto.getFirstName())
+                .lastName(dto.getLastName())
+                .username(dto.getUsername())
+                .email(dto.getEmail())
+                .password(this.passwordEncoder.encode(dto.getPassword()))
+                .avatarColor(this.userService.stringToColour(dto.getUsername()))
+                .role(dto.getRole())
+                .authorities(Role.valueOf(dto.getRole()).getAuthorities())
+                .isActive(true)
+                .isNotLocked(true)
+                .groupsWhereMember(new ArrayList<>())
+                .groupsWhereAdmin(new ArrayList<>())
+                .build();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ImportRow {
+        private final long rowNumber;
+        private final UserCreateDTO user;
+    }
+
+    private class ImportContext {
+        private final List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<UserImportErrorDTO> errors = new ArrayList<>();
+        private final Set<String> usernamesInFile = new HashSet<>();
+        private final Set<String> emailsInFile = new HashSet<>();
+        private long totalRows;
+        private long imported;
+
+        private void add(ImportRow row) {
+            this.totalRows++;
+            this.chunk.add(row);
+            if (this.chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!this.chunk.isEmpty()) {
+                importChunk(new ArrayList<>(this.chunk), this);
+                this.chunk.clear();
+            }
+        }
+
+        private void reject(ImportRow row, String message) {
+            this.errors.add(new UserImportErrorDTO(row.getRowNumber(), row.getUser().getUsername(), message));
+        }
+    }
+}
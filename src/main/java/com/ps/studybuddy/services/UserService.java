@@ -1,21 +1,30 @@
 package com.ps.studybuddy.services;
 
+import com.ps.studybuddy.cache.GroupDetailsCache;
 import com.ps.studybuddy.domain.dtos.*;
 import com.ps.studybuddy.domain.entities.Group;
 import com.ps.studybuddy.domain.entities.User;
 import com.ps.studybuddy.domain.entities.UserPrincipal;
 import com.ps.studybuddy.domain.enumeration.Role;
+import com.ps.studybuddy.domain.projections.UserIdentityView;
+import com.ps.studybuddy.domain.projections.UserSummaryView;
+import com.ps.studybuddy.domain.repositories.DashboardEntryRepository;
 import com.ps.studybuddy.domain.repositories.UserRepository;
 import com.ps.studybuddy.exception.domain.AnonymousUserException;
 import com.ps.studybuddy.exception.domain.EmailExistException;
-import com.ps.studybuddy.exception.domain.UserNotFoundException;
 import com.ps.studybuddy.exception.domain.UsernameExistException;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.exception.ConstraintViolationException;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -36,8 +45,13 @@ public class UserService implements UserDetailsService {
     public static final String NO_PERSON_FOUND_BY_USERNAME = "No person found by username: ";
     public static final String USERNAME_ALREADY_EXISTS = "Username already exists";
     public static final String EMAIL_ALREADY_EXISTS = "Email already exists";
+    public static final String DEFAULT_USER_SORT_PROPERTY = "username";
+    public static final Set<String> SORTABLE_USER_PROPERTIES = Set.of("username", "firstName", "lastName", "email", "createdDate");
 
     private final UserRepository userRepository;
+    private final DashboardEntryRepository dashboardEntryRepository;
+    private final GroupDetailsCache groupDetailsCache;
+    private final TokenRevocationService tokenRevocationService;
     private final ModelMapper modelMapper;
     private final BCryptPasswordEncoder passwordEncoder;
     private final Logger LOGGER = LoggerFactory.getLogger(getClass());
@@ -45,15 +59,22 @@ public class UserService implements UserDetailsService {
     @Autowired
     public UserService(
             UserRepository userRepository,
+            DashboardEntryRepository dashboardEntryRepository,
+            GroupDetailsCache groupDetailsCache,
+            TokenRevocationService tokenRevocationService,
             ModelMapper modelMapper,
             BCryptPasswordEncoder passwordEncoder
     ) {
         this.userRepository = userRepository;
+        this.dashboardEntryRepository = dashboardEntryRepository;
+        this.groupDetailsCache = groupDetailsCache;
+        this.tokenRevocationService = tokenRevocationService;
         this.modelMapper = modelMapper;
         this.passwordEncoder = passwordEncoder;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Optional<User> userOptional = this.userRepository.findUserByUsername(username);
         if(userOptional.isEmpty()) {
@@ -64,12 +85,59 @@ public class UserService implements UserDetailsService {
         }
     }
 
-    public List<UserDTO> findAll() {
-        return this.userRepository.findAll().stream()
-                .map(user -> this.modelMapper.map(user, UserDTO.class))
+    /**
+     * Returns one page of the user directory. Only the columns exposed through UserDTO are selected and the optional
+     * search term is matched as a case-insensitive prefix of the username, first name or last name.
+     * @param search prefix to look for, ignored when blank
+     * @param pageable page, size and sort requested by the client, unsupported sort properties are dropped
+     * @return Page<UserDTO> the requested page of users
+     */
+    @Transactional(readOnly = true)
+    public Page<UserDTO> findAll(String search, Pageable pageable) {
+        Pageable sanitizedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                sanitizeSort(pageable.getSort()));
+        Page<UserSummaryView> summaries;
+        if (StringUtils.isBlank(search)) {
+            summaries = this.userRepository.findAllSummaries(sanitizedPageable);
+        } else {
+            summaries = this.userRepository.findSummariesByPrefix(toLikePrefix(search), sanitizedPageable);
+        }
+        return summaries.map(this::mapUserSummaryToUserDTO);
+    }
+
+    private Sort sanitizeSort(Sort sort) {
+        List<Sort.Order> orders = sort.stream()
+                .filter(order -> SORTABLE_USER_PROPERTIES.contains(order.getProperty()))
                 .collect(Collectors.toList());
+        if (orders.isEmpty()) {
+            return Sort.by(DEFAULT_USER_SORT_PROPERTY);
+        }
+        return Sort.by(orders);
     }
 
+    private String toLikePrefix(String search) {
+        String escaped = search.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
+    private UserDTO mapUserSummaryToUserDTO(UserSummaryView summary) {
+        return UserDTO.builder()
+                .id(summary.getId())
+                .firstName(summary.getFirstName())
+                .lastName(summary.getLastName())
+                .username(summary.getUsername())
+                .email(summary.getEmail())
+                .avatarColor(summary.getAvatarColor())
+                .role(summary.getRole())
+                .isActive(summary.isActive())
+                .isNotLocked(summary.isNotLocked())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     public UserDTO findById(UUID id) throws EntityNotFoundException {
         Optional<User> personOptional = this.userRepository.findById(id);
         if(personOptional.isEmpty()) {
@@ -78,8 +146,9 @@ public class UserService implements UserDetailsService {
         return this.modelMapper.map(personOptional.get(), UserDTO.class);
     }
 
-    public String register(UserCreateDTO dto) throws UserNotFoundException, EmailExistException, UsernameExistException {
-        validateNewUsernameAndEmail(StringUtils.EMPTY, dto.getUsername(), dto.getEmail());
+    @Transactional(rollbackFor = {UsernameExistException.class, EmailExistException.class})
+    public String register(UserCreateDTO dto) throws EmailExistException, UsernameExistException {
+        validateNewUsernameAndEmail(null, dto.getUsername(), dto.getEmail());
         User user = this.modelMapper.map(dto, User.class);
         user.setCreatedDate(new Date(System.currentTimeMillis()));
         String encodedPassword = encodePassword(user.getPassword());
@@ -91,17 +160,22 @@ public class UserService implements UserDetailsService {
         user.setAuthorities(getRoleEnumName(dto.getRole()).getAuthorities());
         user.setGroupsWhereMember(new ArrayList<>());
         user.setGroupsWhereAdmin(new ArrayList<>());
-        this.userRepository.save(user);
+        saveAndTranslateUniqueViolations(user);
         LOGGER.info("New user password: " + dto.getPassword());
         return user.getId().toString();
     }
 
-    public UserDTO updateUser(UserUpdateDTO dto) throws UserNotFoundException, EmailExistException, UsernameExistException, EntityNotFoundException {
-        validateNewUsernameAndEmail(dto.getUsername(), dto.getNewUsername(), dto.getNewEmail());
+    @Transactional(rollbackFor = {UsernameExistException.class, EmailExistException.class})
+    public UserDTO updateUser(UserUpdateDTO dto) throws EmailExistException, UsernameExistException, EntityNotFoundException {
         Optional<User> userOptional = this.userRepository.findById(dto.getId());
         if(userOptional.isEmpty()){
             throw new EntityNotFoundException();
         }
+        validateNewUsernameAndEmail(dto.getId(), dto.getNewUsername(), dto.getNewEmail());
+        // the merge below overwrites the loaded entity, keep what the issued tokens were based on
+        String oldUsername = userOptional.get().getUsername();
+        boolean wasActive = userOptional.get().isActive();
+        boolean wasNotLocked = userOptional.get().isNotLocked();
         User user = User.builder()
                 .id(userOptional.get().getId())
                 .username(dto.getNewUsername())
@@ -119,7 +193,11 @@ public class UserService implements UserDetailsService {
         user.setAuthorities(userOptional.get().getAuthorities());
         user.setGroupsWhereMember(userOptional.get().getGroupsWhereMember());
         user.setGroupsWhereAdmin(userOptional.get().getGroupsWhereAdmin());
-        this.userRepository.save(user);
+        user = saveAndTranslateUniqueViolations(user);
+        this.groupDetailsCache.evictAfterCommit(findGroupIdsOfUser(user));
+        if (!oldUsername.equals(dto.getNewUsername()) || (wasActive && !dto.isActive()) || (wasNotLocked && !dto.isNotLocked())) {
+            this.tokenRevocationService.revokeSubject(oldUsername);
+        }
         return this.modelMapper.map(user, UserDTO.class);
     }
 
@@ -139,44 +217,86 @@ public class UserService implements UserDetailsService {
                 // this.groupService.removeMember(group, userOptional.get());
             }
         }
+        this.groupDetailsCache.evictAfterCommit(findGroupIdsOfUser(userOptional.get()));
+        this.dashboardEntryRepository.deleteByUserId(id);
         this.userRepository.deleteById(id);
+        this.tokenRevocationService.revokeSubject(userOptional.get().getUsername());
+    }
+
+    /**
+     * The user appears in the details of every group where they are a member or the admin
+     * @param user the user
+     * @return ids of the groups of the user
+     */
+    private Set<UUID> findGroupIdsOfUser(User user) {
+        Set<UUID> groupIds = new HashSet<>();
+        user.getGroupsWhereMember().forEach(group -> groupIds.add(group.getId()));
+        user.getGroupsWhereAdmin().forEach(group -> groupIds.add(group.getId()));
+        return groupIds;
     }
 
     private String encodePassword(String password) {
         return passwordEncoder.encode(password);
     }
 
-    private UserDTO validateNewUsernameAndEmail(String currentUsername, String newUsername, String newEmail) throws UserNotFoundException, EmailExistException, UsernameExistException {
-        UserDTO userByUsername = findByUsername(newUsername);
-        UserDTO userByNewEmail = findByEmail(newEmail);
-        if (StringUtils.isNotBlank(currentUsername)) {
-            UserDTO currentPerson = findByUsername(currentUsername);
-            if (currentPerson == null) {
-                throw new UserNotFoundException(NO_PERSON_FOUND_BY_USERNAME + currentUsername);
-            }
-            if (userByUsername != null && !currentPerson.getId().equals(userByUsername.getId())) {
-                throw new UsernameExistException(USERNAME_ALREADY_EXISTS);
-            }
-            if (userByNewEmail != null && !currentPerson.getId().equals(userByNewEmail.getId())) {
-                throw new EmailExistException(EMAIL_ALREADY_EXISTS);
-            }
-            return currentPerson;
-        } else {
-            if (userByUsername != null) {
-                throw new UsernameExistException(USERNAME_ALREADY_EXISTS);
+    /**
+     * Checks in a single query whether the new username or email already belongs to another user
+     * @param currentUserId id of the user being updated, null when registering a new user
+     * @param newUsername the username that should be free
+     * @param newEmail the email that should be free
+     * @throws UsernameExistException if another user already has the username
+     * @throws EmailExistException if another user already has the email
+     */
+    private void validateNewUsernameAndEmail(UUID currentUserId, String newUsername, String newEmail) throws EmailExistException, UsernameExistException {
+        boolean usernameTaken = false;
+        boolean emailTaken = false;
+        for (UserIdentityView conflict : this.userRepository.findIdentityConflicts(newUsername, newEmail)) {
+            if (conflict.getId().equals(currentUserId)) {
+                continue;
             }
-            if (userByNewEmail != null) {
-                throw new EmailExistException(EMAIL_ALREADY_EXISTS);
+            usernameTaken |= conflict.getUsername().equals(newUsername);
+            emailTaken |= conflict.getEmail().equals(newEmail);
+        }
+        if (usernameTaken) {
+            throw new UsernameExistException(USERNAME_ALREADY_EXISTS);
+        }
+        if (emailTaken) {
+            throw new EmailExistException(EMAIL_ALREADY_EXISTS);
+        }
+    }
+
+    /**
+     * Saves the user and flushes right away, so that a username or email registered concurrently after the
+     * validation query is reported through the unique constraints as the same exceptions the validation throws
+     * @param user the user to be saved
+     * @return the saved user
+     * @throws UsernameExistException if the username unique constraint is violated
+     * @throws EmailExistException if the email unique constraint is violated
+     */
+    private User saveAndTranslateUniqueViolations(User user) throws UsernameExistException, EmailExistException {
+        try {
+            return this.userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException) {
+                String constraintName = ((ConstraintViolationException) e.getCause()).getConstraintName();
+                if (User.USERNAME_UNIQUE_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+                    throw new UsernameExistException(USERNAME_ALREADY_EXISTS);
+                }
+                if (User.EMAIL_UNIQUE_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+                    throw new EmailExistException(EMAIL_ALREADY_EXISTS);
+                }
             }
-            return null;
+            throw e;
         }
     }
 
+    @Transactional(readOnly = true)
     public UserDTO findByUsername(String username) {
         Optional<User> optional = this.userRepository.findUserByUsername(username);
         return optional.map(user -> this.modelMapper.map(user, UserDTO.class)).orElse(null);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO findByEmail(String email) {
         Optional<User> optional = this.userRepository.findUserByEmail(email);
         return optional.map(user -> this.modelMapper.map(user, UserDTO.class)).orElse(null);
@@ -204,6 +324,7 @@ public class UserService implements UserDetailsService {
         return colour.toString();
     }
 
+    @Transactional(readOnly = true)
     public User findUserByUsername(String username) {
         Optional<User> optional = this.userRepository.findUserByUsername(username);
         if (optional.isEmpty()) {
@@ -212,11 +333,13 @@ public class UserService implements UserDetailsService {
         return optional.get();
     }
 
+    @Transactional(readOnly = true)
     public List<MeetingDTO> findAllMeetingDatesOfUserWhereMember(Authentication authentication) throws AnonymousUserException {
         User user = checkAuthenticationAndGetUser(authentication);
         return findAllMeetingDatesFromGroups(user.getGroupsWhereMember());
     }
 
+    @Transactional(readOnly = true)
     public List<MeetingDTO> findAllMeetingDatesOfUserWhereAdmin(Authentication authentication) throws AnonymousUserException {
         User user = checkAuthenticationAndGetUser(authentication);
         return findAllMeetingDatesFromGroups(user.getGroupsWhereAdmin());
@@ -238,11 +361,13 @@ public class UserService implements UserDetailsService {
         return meetings;
     }
 
+    @Transactional(readOnly = true)
     public List<LocationDTO> findAllMeetingLocationsOfUserWhereMember(Authentication authentication) throws AnonymousUserException {
         User user = checkAuthenticationAndGetUser(authentication);
         return findAllMeetingLocationsOfGroups(user.getGroupsWhereMember());
     }
 
+    @Transactional(readOnly = true)
     public List<LocationDTO> findAllMeetingLocationsOfUserWhereAdmin(Authentication authentication) throws AnonymousUserException {
         User user = checkAuthenticationAndGetUser(authentication);
         return findAllMeetingLocationsOfGroups(user.getGroupsWhereAdmin());
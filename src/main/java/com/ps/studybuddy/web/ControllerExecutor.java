@@ -0,0 +1,98 @@
+package com.ps.studybuddy.web;
+
+import com.ps.studybuddy.monitoring.QueryStats;
+import com.ps.studybuddy.monitoring.QueryStatsHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Runs the handlers of the ControllerPool controllers when async-controllers.enabled is set. The calls run on a pool
+ * sized to the connection pool and the Tomcat thread is released while the transaction runs; the pool rejects calls
+ * once its queue is full instead of making the Tomcat thread wait for it. Without the flag the bean does not exist
+ * and the handlers run synchronously.
+ */
+@Component
+@ConditionalOnProperty(name = "async-controllers.enabled", havingValue = "true")
+public class ControllerExecutor {
+    private final ThreadPoolTaskExecutor executor;
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    public ControllerExecutor(MeterRegistry meterRegistry,
+                              @Value("${async-controllers.pool-size}") int poolSize,
+                              @Value("${async-controllers.queue-capacity}") int queueCapacity) {
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("controller-");
+        this.executor.setTaskDecorator(new RequestContextTaskDecorator());
+        this.executor.initialize();
+        new ExecutorServiceMetrics(this.executor.getThreadPoolExecutor(), "controller", Tags.empty()).bindTo(meterRegistry);
+        LOGGER.info("Controller calls run on " + poolSize + " threads with a queue of " + queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * @param call the handler call
+     * @return the result of the call, completed on the pool
+     * @throws org.springframework.core.task.TaskRejectedException if the queue of the pool is full
+     */
+    public <T> CompletableFuture<T> supply(ControllerCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                // unwrapped by Spring MVC, so the exception handlers see the checked exception
+                throw new CompletionException(e);
+            }
+        }, this.executor);
+    }
+
+    @FunctionalInterface
+    public interface ControllerCall<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Hands the security context and the QueryStats of the request to the pool thread
+     */
+    private static class RequestContextTaskDecorator implements TaskDecorator {
+        @Override
+        public Runnable decorate(Runnable runnable) {
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            QueryStats queryStats = QueryStatsHolder.get();
+            return () -> {
+                SecurityContextHolder.setContext(securityContext);
+                QueryStatsHolder.set(queryStats);
+                try {
+                    runnable.run();
+                } finally {
+                    QueryStatsHolder.clear();
+                    SecurityContextHolder.clearContext();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ps.studybuddy.web;
+
+import java.lang.annotation.*;
+
+/**
+ * The handlers of a controller annotated with ControllerPool run on the ControllerExecutor pool when
+ * async-controllers.enabled is set. The handlers keep their plain synchronous signatures, without the flag they run
+ * on the Tomcat thread and the request is not processed asynchronously at all.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ControllerPool {
+}
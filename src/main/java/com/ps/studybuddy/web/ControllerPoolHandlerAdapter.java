@@ -0,0 +1,33 @@
+package com.ps.studybuddy.web;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+/**
+ * Invokes the handlers of ControllerPool controllers on the ControllerExecutor. The arguments are still resolved on
+ * the Tomcat thread, only the handler call moves to the pool. The handler method then returns a CompletableFuture
+ * instead of its value, which Spring MVC picks up as an async result by its runtime type and dispatches again once
+ * the future completes; exceptions of the handler reach the exception handlers the same way.
+ */
+public class ControllerPoolHandlerAdapter extends RequestMappingHandlerAdapter {
+    private final ControllerExecutor controllerExecutor;
+
+    public ControllerPoolHandlerAdapter(ControllerExecutor controllerExecutor) {
+        this.controllerExecutor = controllerExecutor;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        if (!AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), ControllerPool.class)) {
+            return super.createInvocableHandlerMethod(handlerMethod);
+        }
+        return new ServletInvocableHandlerMethod(handlerMethod) {
+            @Override
+            protected Object doInvoke(Object... args) {
+                return controllerExecutor.supply(() -> super.doInvoke(args));
+            }
+        };
+    }
+}
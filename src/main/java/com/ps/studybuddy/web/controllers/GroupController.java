@@ -1,26 +1,37 @@
 package com.ps.studybuddy.web.controllers;
 
+import com.ps.studybuddy.cache.GroupDetailsCache;
+import com.ps.studybuddy.cache.SingleFlight;
 import com.ps.studybuddy.domain.dtos.*;
 import com.ps.studybuddy.exception.domain.*;
 import com.ps.studybuddy.services.GroupService;
+import com.ps.studybuddy.web.ControllerPool;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
+@ControllerPool
 @RequestMapping(path = {"/groups"})
 public class GroupController {
     private final GroupService groupService;
+    private final SingleFlight<UUID, GroupDetailsDTO> groupDetailsSingleFlight;
+    private final GroupDetailsCache groupDetailsCache;
 
     @Autowired
-    public GroupController(GroupService groupService) {
+    public GroupController(GroupService groupService, SingleFlight<UUID, GroupDetailsDTO> groupDetailsSingleFlight,
+                           GroupDetailsCache groupDetailsCache) {
         this.groupService = groupService;
+        this.groupDetailsSingleFlight = groupDetailsSingleFlight;
+        this.groupDetailsCache = groupDetailsCache;
     }
 
     @PostMapping("/create")
@@ -73,14 +84,38 @@ public class GroupController {
     }
 
     @GetMapping()
-    public ResponseEntity<List<GroupDTO>> getAllGroups() {
-        List<GroupDTO> groups = this.groupService.findAll();
-        return ResponseEntity.ok().body(groups);
+    public ResponseEntity<MappingJacksonValue> getAllGroups(@RequestParam(value = "fields", required = false) String fields) throws InvalidFieldsException {
+        FieldSelection selection = FieldSelection.parse(fields, GroupService.GROUP_FIELDS);
+        List<GroupDTO> groups = this.groupService.findAll(selection);
+        return ResponseEntity.ok().body(withFields(groups, selection));
     }
     @GetMapping(value = "/{id}")
-    public ResponseEntity<GroupDetailsDTO> getGroupById(@PathVariable("id") UUID id) {
-        GroupDetailsDTO dto = this.groupService.findById(id);
-        return ResponseEntity.ok().body(dto);
+    public ResponseEntity<MappingJacksonValue> getGroupById(@PathVariable("id") UUID id, @RequestParam(value = "fields", required = false) String fields) throws InvalidFieldsException {
+        FieldSelection selection = FieldSelection.parse(fields, GroupService.GROUP_DETAILS_FIELDS);
+        GroupDetailsDTO dto = selection.isAll()
+                ? this.groupDetailsSingleFlight.load(id,
+                        () -> this.groupDetailsCache.get(id, () -> this.groupService.findById(id)))
+                : this.groupService.findById(id, selection);
+        return ResponseEntity.ok().body(withFields(dto, selection));
+    }
+
+    @GetMapping(value = "/batch")
+    public ResponseEntity<List<GroupBatchEntryDTO>> getGroupsByIds(@RequestParam("ids") List<UUID> ids) throws BatchTooLargeException {
+        List<GroupBatchEntryDTO> groups = this.groupService.findByIds(ids);
+        return ResponseEntity.ok().body(groups);
+    }
+
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<GroupBatchEntryDTO>> postGroupsByIds(@RequestBody GroupBatchRequestDTO dto) throws BatchTooLargeException {
+        List<UUID> ids = dto.getIds() == null ? Collections.emptyList() : dto.getIds();
+        List<GroupBatchEntryDTO> groups = this.groupService.findByIds(ids);
+        return ResponseEntity.ok().body(groups);
+    }
+
+    private MappingJacksonValue withFields(Object body, FieldSelection selection) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(selection.toFilterProvider());
+        return value;
     }
 
     @GetMapping(value = "/with-member/{id}")
@@ -89,11 +124,20 @@ public class GroupController {
         return ResponseEntity.ok().body(groups);
     }
     @GetMapping(value = "/members/{groupId}")
-    public ResponseEntity<List<UserDTO>> getAllMembersOfGroup(@PathVariable("groupId") UUID groupId) {
-        List<UserDTO> members = this.groupService.findAllMembersOfGroup(groupId);
+    public ResponseEntity<GroupMemberPageDTO> getMembersOfGroup(@PathVariable("groupId") UUID groupId,
+                                                                @RequestParam(value = "sort", defaultValue = GroupService.MEMBER_ORDER_JOINED_DATE) String sort,
+                                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                                @RequestParam(value = "size", defaultValue = "" + GroupService.DEFAULT_MEMBER_PAGE_SIZE) int size) throws InvalidCursorException {
+        GroupMemberPageDTO members = this.groupService.findMembersOfGroup(groupId, sort, cursor, size);
         return ResponseEntity.ok().body(members);
     }
 
+    @GetMapping(value = "/members/{groupId}/count")
+    public ResponseEntity<Long> countMembersOfGroup(@PathVariable("groupId") UUID groupId) {
+        long count = this.groupService.countMembersOfGroup(groupId);
+        return ResponseEntity.ok().body(count);
+    }
+
     @GetMapping(value = "/where-admin")
     public ResponseEntity<List<GroupDTO>> getGroupsWhereUserIsAdmin() throws AnonymousUserException {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
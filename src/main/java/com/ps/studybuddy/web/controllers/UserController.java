@@ -1,46 +1,101 @@
 package com.ps.studybuddy.web.controllers;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.ps.studybuddy.domain.dtos.*;
 import com.ps.studybuddy.exception.domain.AnonymousUserException;
 import com.ps.studybuddy.exception.domain.EmailExistException;
+import com.ps.studybuddy.exception.domain.UnsupportedImportFormatException;
 import com.ps.studybuddy.exception.handler.ExceptionHandling;
-import com.ps.studybuddy.exception.domain.UserNotFoundException;
 import com.ps.studybuddy.exception.domain.UsernameExistException;
+import com.ps.studybuddy.security.utility.JWTTokenProvider;
+import com.ps.studybuddy.services.DashboardService;
+import com.ps.studybuddy.services.TokenRevocationService;
+import com.ps.studybuddy.services.UserImportService;
 import com.ps.studybuddy.services.UserService;
+import com.ps.studybuddy.web.ControllerPool;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
+import static com.ps.studybuddy.security.constant.SecurityConstant.TOKEN_PREFIX;
+
 @RestController
+@ControllerPool
 @RequestMapping(path = {"/users"})
 public class UserController extends ExceptionHandling {
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final DashboardService dashboardService;
+    private final TokenRevocationService tokenRevocationService;
+    private final JWTTokenProvider jwtTokenProvider;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService, DashboardService dashboardService,
+                          TokenRevocationService tokenRevocationService, JWTTokenProvider jwtTokenProvider) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.dashboardService = dashboardService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.jwtTokenProvider = jwtTokenProvider;
     }
 
     @GetMapping()
     @PreAuthorize("hasAnyAuthority('user:read')")
-    public List<UserDTO> getAll() {
-        return this.userService.findAll();
+    public Page<UserDTO> getAll(@RequestParam(value = "search", required = false) String search,
+                                @PageableDefault(size = 20, sort = "username") Pageable pageable) {
+        return this.userService.findAll(search, pageable);
     }
 
     @PostMapping("/register")
-    public ResponseEntity<String> register(@RequestBody UserCreateDTO dto) throws UserNotFoundException, EmailExistException, UsernameExistException {
+    public ResponseEntity<String> register(@RequestBody UserCreateDTO dto) throws EmailExistException, UsernameExistException {
         this.userService.register(dto);
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    /**
+     * Revokes the token of the request. Spring Security's LogoutFilter owns /logout, hence the path under /users.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader) throws AnonymousUserException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authorizationHeader.startsWith(TOKEN_PREFIX)) {
+            throw new AnonymousUserException("Anonymous user cannot log out");
+        }
+        String token = authorizationHeader.substring(TOKEN_PREFIX.length());
+        DecodedJWT decodedJWT = this.jwtTokenProvider.verifyToken(token);
+        if (decodedJWT.getId() == null) {
+            // tokens issued before they carried an id can only be revoked together with the other tokens of the user
+            this.tokenRevocationService.revokeSubject(decodedJWT.getSubject());
+        } else {
+            this.tokenRevocationService.revokeToken(decodedJWT.getId(), decodedJWT.getSubject(), decodedJWT.getExpiresAt());
+        }
+        SecurityContextHolder.clearContext();
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyAuthority('user:create')")
+    public ResponseEntity<UserImportResultDTO> importUsers(@RequestParam("file") MultipartFile file) throws UnsupportedImportFormatException, IOException {
+        UserImportResultDTO result = this.userImportService.importUsers(file);
+        return ResponseEntity.ok().body(result);
+    }
+
     @GetMapping(value = "/{id}")
     @PreAuthorize("hasAnyAuthority('user:read')")
     public ResponseEntity<UserDTO> getUserById(@PathVariable("id") UUID id) {
@@ -56,7 +111,7 @@ public class UserController extends ExceptionHandling {
 
     @PostMapping("/update")
     @PreAuthorize("hasAnyAuthority('user:update')")
-    public ResponseEntity<UserDTO> update(@RequestBody UserUpdateDTO dto) throws UserNotFoundException, EmailExistException, UsernameExistException, EntityNotFoundException {
+    public ResponseEntity<UserDTO> update(@RequestBody UserUpdateDTO dto) throws EmailExistException, UsernameExistException, EntityNotFoundException {
         UserDTO userDTO = this.userService.updateUser(dto);
         return ResponseEntity.ok().body(userDTO);
     }
@@ -88,4 +143,11 @@ public class UserController extends ExceptionHandling {
         List<MeetingDTO> meetingDTOS = this.userService.findAllMeetingDatesOfUserWhereMember(authentication);
         return ResponseEntity.ok().body(meetingDTOS);
     }
+
+    @GetMapping("dashboard")
+    public ResponseEntity<DashboardDTO> getDashboard() throws AnonymousUserException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        DashboardDTO dashboard = this.dashboardService.findDashboard(authentication);
+        return ResponseEntity.ok().body(dashboard);
+    }
 }
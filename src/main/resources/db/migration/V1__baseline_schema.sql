@@ -0,0 +1,69 @@
+-- Schema as it was generated by hibernate.ddl-auto=update. Databases created that way are baselined at this version.
+
+CREATE TABLE app_user (
+    id            UUID         NOT NULL,
+    created_date  TIMESTAMP    NOT NULL,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    username      VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    avatar_color  VARCHAR(255) NOT NULL,
+    role          VARCHAR(255) NOT NULL,
+    authorities   BYTEA        NOT NULL,
+    is_active     BOOLEAN      NOT NULL,
+    is_not_locked BOOLEAN      NOT NULL,
+    CONSTRAINT app_user_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_app_user_username UNIQUE (username),
+    CONSTRAINT uk_app_user_email UNIQUE (email)
+);
+
+CREATE TABLE location (
+    id        UUID             NOT NULL,
+    name      VARCHAR(255)     NOT NULL,
+    latitude  DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    CONSTRAINT location_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE topic (
+    id           UUID         NOT NULL,
+    created_date TIMESTAMP    NOT NULL,
+    name         VARCHAR(255) NOT NULL,
+    description  TEXT         NOT NULL,
+    CONSTRAINT topic_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_topic_name UNIQUE (name)
+);
+
+CREATE TABLE app_group (
+    id           UUID         NOT NULL,
+    created_date TIMESTAMP    NOT NULL,
+    name         VARCHAR(255) NOT NULL,
+    description  TEXT         NOT NULL,
+    location_id  UUID         NOT NULL,
+    admin_id     UUID         NOT NULL,
+    CONSTRAINT app_group_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_app_group_location UNIQUE (location_id),
+    CONSTRAINT fk_app_group_location FOREIGN KEY (location_id) REFERENCES location (id),
+    CONSTRAINT fk_app_group_admin FOREIGN KEY (admin_id) REFERENCES app_user (id)
+);
+
+CREATE TABLE group_members (
+    group_id   UUID NOT NULL,
+    members_id UUID NOT NULL,
+    CONSTRAINT fk_group_members_group FOREIGN KEY (group_id) REFERENCES app_group (id),
+    CONSTRAINT fk_group_members_member FOREIGN KEY (members_id) REFERENCES app_user (id)
+);
+
+CREATE TABLE group_meeting_dates (
+    group_id      UUID NOT NULL,
+    meeting_dates TIMESTAMP,
+    CONSTRAINT fk_group_meeting_dates_group FOREIGN KEY (group_id) REFERENCES app_group (id)
+);
+
+CREATE TABLE group_topics (
+    group_id UUID NOT NULL,
+    topic_id UUID NOT NULL,
+    CONSTRAINT fk_group_topics_group FOREIGN KEY (group_id) REFERENCES app_group (id),
+    CONSTRAINT fk_group_topics_topic FOREIGN KEY (topic_id) REFERENCES topic (id)
+);
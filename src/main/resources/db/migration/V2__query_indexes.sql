@@ -0,0 +1,36 @@
+-- One index per repository access path. findUserByUsername, findUserByEmail and findTopicByName are already served
+-- by the unique constraints of V1.
+
+-- UserRepository.findSummariesByPrefix: case-insensitive prefix search, replaces the plain name indexes
+DROP INDEX IF EXISTS idx_app_user_first_name;
+DROP INDEX IF EXISTS idx_app_user_last_name;
+CREATE INDEX IF NOT EXISTS idx_app_user_lower_username ON app_user (lower(username) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_app_user_lower_first_name ON app_user (lower(first_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_app_user_lower_last_name ON app_user (lower(last_name) text_pattern_ops);
+
+-- UserRepository.findAll orders by creation date
+CREATE INDEX IF NOT EXISTS idx_app_user_created_date ON app_user (created_date);
+
+-- GroupRepository.findAll orders by creation date
+CREATE INDEX IF NOT EXISTS idx_app_group_created_date ON app_group (created_date);
+
+-- GroupRepository.findGroupsByAdmin and User.groupsWhereAdmin
+CREATE INDEX IF NOT EXISTS idx_app_group_admin_created_date ON app_group (admin_id, created_date);
+
+-- Group.members, loaded by group
+CREATE INDEX IF NOT EXISTS idx_group_members_group_member ON group_members (group_id, members_id);
+
+-- GroupRepository.findGroupsByMembersContaining and User.groupsWhereMember, the reverse lookup by member
+CREATE INDEX IF NOT EXISTS idx_group_members_member_group ON group_members (members_id, group_id);
+
+-- Group.meetingDates, loaded by group and scanned in date order
+CREATE INDEX IF NOT EXISTS idx_group_meeting_dates_group_date ON group_meeting_dates (group_id, meeting_dates);
+
+-- Group.topics, loaded by group
+CREATE INDEX IF NOT EXISTS idx_group_topics_group_topic ON group_topics (group_id, topic_id);
+
+-- Topic.groups, loaded by topic when a topic is deleted
+CREATE INDEX IF NOT EXISTS idx_group_topics_topic_group ON group_topics (topic_id, group_id);
+
+-- TopicRepository.findAll orders by creation date
+CREATE INDEX IF NOT EXISTS idx_topic_created_date ON topic (created_date);
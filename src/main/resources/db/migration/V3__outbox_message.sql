@@ -0,0 +1,10 @@
+-- Group events written in the same transaction as the change that caused them, drained by OutboxRelay
+CREATE TABLE outbox_message (
+    id           BIGSERIAL    NOT NULL,
+    event_id     UUID         NOT NULL,
+    event_type   VARCHAR(64)  NOT NULL,
+    group_id     UUID         NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_date TIMESTAMP    NOT NULL,
+    CONSTRAINT outbox_message_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,38 @@
+-- Denormalized per-user dashboard: one row per group the user belongs to, read with a single primary key range scan
+CREATE TABLE user_dashboard_entry (
+    user_id           UUID             NOT NULL,
+    group_id          UUID             NOT NULL,
+    role              VARCHAR(16)      NOT NULL,
+    group_name        VARCHAR(255)     NOT NULL,
+    location_id       UUID             NOT NULL,
+    location_name     VARCHAR(255)     NOT NULL,
+    latitude          DOUBLE PRECISION NOT NULL,
+    longitude         DOUBLE PRECISION NOT NULL,
+    next_meeting_date TIMESTAMP,
+    updated_date      TIMESTAMP        NOT NULL,
+    CONSTRAINT user_dashboard_entry_pkey PRIMARY KEY (user_id, group_id)
+);
+
+-- Bulk updates of all the entries of a group
+CREATE INDEX idx_user_dashboard_entry_group ON user_dashboard_entry (group_id);
+
+-- Periodic refresh of entries whose next meeting has passed
+CREATE INDEX idx_user_dashboard_entry_next_meeting ON user_dashboard_entry (next_meeting_date);
+
+INSERT INTO user_dashboard_entry (user_id, group_id, role, group_name, location_id, location_name, latitude, longitude,
+                                  next_meeting_date, updated_date)
+SELECT participant.user_id,
+       g.id,
+       CASE WHEN g.admin_id = participant.user_id THEN 'ADMIN' ELSE 'MEMBER' END,
+       g.name,
+       l.id,
+       l.name,
+       l.latitude,
+       l.longitude,
+       (SELECT min(d.meeting_dates) FROM group_meeting_dates d WHERE d.group_id = g.id AND d.meeting_dates > now()),
+       now()
+FROM (SELECT gm.group_id, gm.members_id AS user_id FROM group_members gm
+      UNION
+      SELECT ag.id, ag.admin_id FROM app_group ag) participant
+         JOIN app_group g ON g.id = participant.group_id
+         JOIN location l ON l.id = g.location_id;
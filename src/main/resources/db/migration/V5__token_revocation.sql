@@ -0,0 +1,20 @@
+-- Revoked JWTs by token id, kept until the token would have expired anyway
+CREATE TABLE revoked_token (
+    token_id     VARCHAR(64)  NOT NULL,
+    subject      VARCHAR(255) NOT NULL,
+    expires_date TIMESTAMP    NOT NULL,
+    created_date TIMESTAMP    NOT NULL,
+    CONSTRAINT revoked_token_pkey PRIMARY KEY (token_id)
+);
+
+CREATE INDEX idx_revoked_token_expires ON revoked_token (expires_date);
+
+-- Every token of the subject issued before revoked_before is revoked (lock, deactivation, username change)
+CREATE TABLE revoked_subject (
+    subject        VARCHAR(255) NOT NULL,
+    revoked_before TIMESTAMP    NOT NULL,
+    expires_date   TIMESTAMP    NOT NULL,
+    CONSTRAINT revoked_subject_pkey PRIMARY KEY (subject)
+);
+
+CREATE INDEX idx_revoked_subject_expires ON revoked_subject (expires_date);
@@ -0,0 +1,6 @@
+-- Join time of every membership, rows that predate it share the time of the migration. Millisecond precision keeps
+-- the value a roster cursor carries equal to the stored one.
+ALTER TABLE group_members ADD COLUMN joined_date TIMESTAMP(3) NOT NULL DEFAULT now();
+
+-- GroupMemberRepository roster pages in join order, the member id breaks ties between members who joined together
+CREATE INDEX IF NOT EXISTS idx_group_members_group_joined ON group_members (group_id, joined_date, members_id);
@@ -0,0 +1,5 @@
+-- Messages whose payload cannot be read are kept for inspection instead of blocking the head of the outbox
+ALTER TABLE outbox_message ADD COLUMN failed_date TIMESTAMP;
+
+-- OutboxRelay only locks the pending messages, in id order
+CREATE INDEX IF NOT EXISTS idx_outbox_message_pending ON outbox_message (id) WHERE failed_date IS NULL;
@@ -0,0 +1,65 @@
+package com.ps.studybuddy.cache;
+
+import com.ps.studybuddy.domain.dtos.GroupDetailsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupDetailsCacheTests {
+    private final UUID groupId = UUID.randomUUID();
+    private GroupDetailsCache groupDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        this.groupDetailsCache = new GroupDetailsCache(
+                new ConcurrentMapCacheManager(GroupDetailsCache.GROUP_DETAILS_CACHE), groupIds -> { });
+    }
+
+    @Test
+    void cachesTheLoadedDetails() {
+        GroupDetailsDTO loaded = this.groupDetailsCache.get(this.groupId, () -> details("loaded"));
+
+        assertThat(this.groupDetailsCache.get(this.groupId, () -> details("reloaded"))).isSameAs(loaded);
+    }
+
+    @Test
+    void dropsDetailsReadBeforeAnEviction() {
+        GroupDetailsDTO stale = this.groupDetailsCache.get(this.groupId, () -> {
+            // the change commits while the details are read
+            this.groupDetailsCache.evictAfterCommit(Collections.singleton(this.groupId));
+            return details("stale");
+        });
+
+        assertThat(stale.getName()).isEqualTo("stale");
+        assertThat(this.groupDetailsCache.getIfPresent(this.groupId)).isNull();
+    }
+
+    @Test
+    void dropsDetailsReadBeforeAnEvictionOfAnotherNode() {
+        long readStamp = this.groupDetailsCache.readStamp(this.groupId);
+        this.groupDetailsCache.evictLocally(Collections.singleton(this.groupId));
+
+        this.groupDetailsCache.put(details("stale"), readStamp);
+
+        assertThat(this.groupDetailsCache.getIfPresent(this.groupId)).isNull();
+    }
+
+    @Test
+    void cachesDetailsReadAfterAnEviction() {
+        this.groupDetailsCache.evictLocally(Collections.singleton(this.groupId));
+        long readStamp = this.groupDetailsCache.readStamp(this.groupId);
+
+        this.groupDetailsCache.put(details("fresh"), readStamp);
+
+        assertThat(this.groupDetailsCache.getIfPresent(this.groupId).getName()).isEqualTo("fresh");
+    }
+
+    private GroupDetailsDTO details(String name) {
+        return GroupDetailsDTO.builder().id(this.groupId).name(name).build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ps.studybuddy.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.singleFlight = new SingleFlight<>("test", this.meterRegistry);
+        this.executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersOfTheSameKeyShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = callConcurrently("group", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "details";
+        });
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("details");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(calls("leader")).isEqualTo(1);
+        assertThat(calls("coalesced")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void callersOfDifferentKeysLoadSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+
+        this.singleFlight.load("first", () -> "first-" + loads.incrementAndGet());
+        this.singleFlight.load("second", () -> "second-" + loads.incrementAndGet());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void exceptionOfTheLoadReachesEveryWaiter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = callConcurrently("group", () -> {
+            await(release);
+            throw new IllegalStateException("load failed");
+        });
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("load failed");
+        }
+    }
+
+    @Test
+    void keyIsReleasedAfterTheLoadCompletes() {
+        AtomicInteger loads = new AtomicInteger();
+
+        this.singleFlight.load("group", () -> "details-" + loads.incrementAndGet());
+
+        assertThat(inFlight()).isZero();
+        assertThat(this.singleFlight.load("group", () -> "details-" + loads.incrementAndGet())).isEqualTo("details-2");
+    }
+
+    @Test
+    void keyIsReleasedAfterTheLoadFails() {
+        assertThatThrownBy(() -> this.singleFlight.load("group", () -> {
+            throw new IllegalStateException("load failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(inFlight()).isZero();
+        assertThat(this.singleFlight.load("group", () -> "details")).isEqualTo("details");
+    }
+
+    private List<Future<String>> callConcurrently(String key, Supplier<String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(this.executor.submit(() -> this.singleFlight.load(key, loader)));
+        }
+        return results;
+    }
+
+    /**
+     * Waits until the other callers joined the load of the leader, which blocks until it is released
+     */
+    private void awaitWaiters(int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("coalesced") < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(calls("coalesced")).isEqualTo(waiters);
+    }
+
+    private double calls(String outcome) {
+        return this.meterRegistry.get("single.flight.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private double inFlight() {
+        return this.meterRegistry.get("single.flight.in.flight").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
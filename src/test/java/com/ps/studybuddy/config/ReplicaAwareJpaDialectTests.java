@@ -0,0 +1,45 @@
+package com.ps.studybuddy.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The primary stands in for the replica, only the cache mode of the sessions is checked
+ */
+@SpringBootTest(properties = "database.replica.url=${spring.datasource.url}")
+public class ReplicaAwareJpaDialectTests {
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void readOnlyTransactionsDoNotFillTheCaches() {
+        TransactionTemplate readOnly = new TransactionTemplate(this.transactionManager);
+        readOnly.setReadOnly(true);
+        CacheMode cacheMode = readOnly.execute(status -> cacheMode());
+        assertThat(cacheMode).isEqualTo(CacheMode.GET);
+    }
+
+    @Test
+    void readWriteTransactionsFillTheCaches() {
+        TransactionTemplate readWrite = new TransactionTemplate(this.transactionManager);
+        CacheMode cacheMode = readWrite.execute(status -> cacheMode());
+        assertThat(cacheMode).isEqualTo(CacheMode.NORMAL);
+    }
+
+    private CacheMode cacheMode() {
+        return this.entityManager.unwrap(Session.class).getCacheMode();
+    }
+}
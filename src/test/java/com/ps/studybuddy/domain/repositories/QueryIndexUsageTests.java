@@ -0,0 +1,299 @@
+package com.ps.studybuddy.domain.repositories;
+
+import com.ps.studybuddy.domain.entities.Group;
+import com.ps.studybuddy.domain.entities.User;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the statements Hibernate generates for the selective repository access paths are served by an index.
+ * The statements and their parameters are captured from the datasource-proxy while the access path runs, then
+ * explained with the same parameters on tables seeded large enough for a sequential scan to cost more than an index
+ * scan. Every plan must look rows up through an index condition and must not scan a table sequentially. The seeded
+ * rows are rolled back with the test transaction. Unbounded reads such as findAll are not checked, a sequential scan
+ * is the right plan for them.
+ */
+@SpringBootTest
+@Transactional
+class QueryIndexUsageTests {
+    private static final int USERS = 20000;
+    private static final int GROUPS = 2000;
+    private static final int MEMBERS_PER_GROUP = 10;
+    private static final int TOPICS_PER_GROUP = 3;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+    @Autowired
+    private TopicRepository topicRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final List<QueryInfo> statements = new ArrayList<>();
+    private final StatementCapture statementCapture = new StatementCapture();
+
+    @BeforeEach
+    void seed() throws IOException {
+        this.jdbcTemplate.update("insert into app_user (id, created_date, first_name, last_name, username, password, " +
+                "email, avatar_color, role, authorities, is_active, is_not_locked) " +
+                "select " + uuidOf("'index-user-' || i") + ", now() - i * interval '1 minute', 'First' || i, " +
+                "'Last' || i, 'indexuser' || i, 'password', 'indexuser' || i || '@example.com', '#000000', " +
+                "'ROLE_USER', ?, true, true from generate_series(1, " + USERS + ") i", (Object) serialize(new String[0]));
+        this.jdbcTemplate.update("insert into location (id, name, latitude, longitude) " +
+                "select " + uuidOf("'index-location-' || i") + ", 'Location ' || i, 0, 0 " +
+                "from generate_series(1, " + GROUPS + ") i");
+        this.jdbcTemplate.update("insert into app_group (id, created_date, name, description, location_id, admin_id) " +
+                "select " + uuidOf("'index-group-' || i") + ", now() - i * interval '1 minute', 'Group ' || i, '', " +
+                uuidOf("'index-location-' || i") + ", " + uuidOf("'index-user-' || i") + " " +
+                "from generate_series(1, " + GROUPS + ") i");
+        this.jdbcTemplate.update("insert into group_members (group_id, members_id, joined_date) " +
+                "select " + uuidOf("'index-group-' || g") + ", " + uuidOf("'index-user-' || ((g * 7 + m) % " + USERS + " + 1)") +
+                ", now() - m * interval '1 minute' " +
+                "from generate_series(1, " + GROUPS + ") g, generate_series(1, " + MEMBERS_PER_GROUP + ") m");
+        this.jdbcTemplate.update("insert into group_meeting_dates (group_id, meeting_dates) " +
+                "select " + uuidOf("'index-group-' || g") + ", now() + d * interval '1 day' " +
+                "from generate_series(1, " + GROUPS + ") g, generate_series(1, 3) d");
+        this.jdbcTemplate.update("insert into topic (id, created_date, name, description) " +
+                "select " + uuidOf("'index-topic-' || i") + ", now(), 'Index topic ' || i, '' " +
+                "from generate_series(1, " + GROUPS * TOPICS_PER_GROUP + ") i");
+        this.jdbcTemplate.update("insert into group_topics (group_id, topic_id) " +
+                "select " + uuidOf("'index-group-' || g") + ", " +
+                uuidOf("'index-topic-' || ((g - 1) * " + TOPICS_PER_GROUP + " + t)") + " " +
+                "from generate_series(1, " + GROUPS + ") g, generate_series(1, " + TOPICS_PER_GROUP + ") t");
+        this.jdbcTemplate.execute("analyze app_user, location, app_group, group_members, group_meeting_dates, " +
+                "topic, group_topics");
+        ((ProxyDataSource) this.dataSource).getProxyConfig().getQueryListener().addListener(this.statementCapture);
+    }
+
+    @AfterEach
+    void stopCapturing() {
+        ((ProxyDataSource) this.dataSource).getProxyConfig().getQueryListener().getListeners()
+                .remove(this.statementCapture);
+    }
+
+    @Test
+    void findUserByUsername() {
+        this.userRepository.findUserByUsername("indexuser123");
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findUserByEmail() {
+        this.userRepository.findUserByEmail("indexuser123@example.com");
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findIdentityConflicts() {
+        this.userRepository.findIdentityConflicts("indexuser123", "indexuser456@example.com");
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findSummariesByPrefix() {
+        this.userRepository.findSummariesByPrefix("indexuser123%", PageRequest.of(0, 20));
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findSummariesByPrefixSortedByUsername() {
+        this.userRepository.findSummariesByPrefix("first123%", PageRequest.of(0, 20, Sort.by("username")));
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findGroupsByAdmin() {
+        this.groupRepository.findGroupsByAdmin(this.entityManager.getReference(User.class, userId(123)));
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findGroupsByMembersContaining() {
+        this.groupRepository.findGroupsByMembersContaining(this.entityManager.getReference(User.class, userId(123)));
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findGroupDetailsByIdInWithTopics() {
+        List<Group> groups = this.groupRepository.findGroupDetailsByIdIn(groupIds(5));
+        groups.forEach(group -> group.getTopics().size());
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findMembersByJoinedDate() {
+        this.groupMemberRepository.findMembersByJoinedDate(groupId(42), PageRequest.of(0, 5));
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findMembersByJoinedDateAfter() {
+        this.groupMemberRepository.findMembersByJoinedDateAfter(groupId(42), new Date(), userId(1), PageRequest.of(0, 5));
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void countMembers() {
+        this.groupMemberRepository.countMembers(groupId(42));
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findFirstMembersOfGroups() {
+        this.groupMemberRepository.findFirstMembersOfGroups(groupIds(5), 5);
+
+        assertIndexedStatements();
+    }
+
+    @Test
+    void findTopicByName() {
+        this.topicRepository.findTopicByName("Index topic 7");
+
+        assertIndexedStatements();
+    }
+
+    private void assertIndexedStatements() {
+        List<QueryInfo> captured = new ArrayList<>(this.statements);
+        this.statements.clear();
+        assertThat(captured).as("captured statements").isNotEmpty();
+        for (QueryInfo statement : captured) {
+            String plan = explain(statement);
+            assertThat(plan)
+                    .as("plan of %s", statement.getQuery())
+                    .contains("Index Cond")
+                    .doesNotContain("Seq Scan");
+        }
+    }
+
+    private String explain(QueryInfo statement) {
+        List<ParameterSetOperation> parameters = statement.getParametersList().isEmpty()
+                ? List.of()
+                : statement.getParametersList().get(0);
+        List<String> lines = this.jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("explain " + statement.getQuery());
+            for (ParameterSetOperation parameter : parameters) {
+                try {
+                    parameter.getMethod().invoke(explain, parameter.getArgs());
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Could not bind " + parameter.getMethod().getName(), e);
+                }
+            }
+            return explain;
+        }, (resultSet, row) -> resultSet.getString(1));
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Records the selects of the test thread, the outbox relay and other scheduled jobs run on their own threads
+     */
+    private class StatementCapture implements QueryExecutionListener {
+        private final Thread testThread = Thread.currentThread();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() != this.testThread) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                if (queryInfo.getQuery().trim().toLowerCase().startsWith("select")) {
+                    QueryIndexUsageTests.this.statements.add(queryInfo);
+                }
+            }
+        }
+    }
+
+    private static String uuidOf(String expression) {
+        return "md5(" + expression + ")::uuid";
+    }
+
+    private static UUID userId(int i) {
+        return uuid("index-user-" + i);
+    }
+
+    private static UUID groupId(int i) {
+        return uuid("index-group-" + i);
+    }
+
+    private static Set<UUID> groupIds(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(QueryIndexUsageTests::groupId).collect(Collectors.toSet());
+    }
+
+    /**
+     * @param seed the value hashed by uuidOf
+     * @return the uuid that md5(seed)::uuid gives in PostgreSQL
+     */
+    private static UUID uuid(String seed) {
+        try {
+            byte[] md5 = java.security.MessageDigest.getInstance("MD5").digest(seed.getBytes(StandardCharsets.UTF_8));
+            long mostSignificant = 0;
+            long leastSignificant = 0;
+            for (int i = 0; i < 8; i++) {
+                mostSignificant = (mostSignificant << 8) | (md5[i] & 0xff);
+                leastSignificant = (leastSignificant << 8) | (md5[i + 8] & 0xff);
+            }
+            return new UUID(mostSignificant, leastSignificant);
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
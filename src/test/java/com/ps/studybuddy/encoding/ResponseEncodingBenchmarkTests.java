@@ -0,0 +1,208 @@
+package com.ps.studybuddy.encoding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import com.ps.studybuddy.domain.entities.Group;
+import com.ps.studybuddy.domain.entities.User;
+import com.ps.studybuddy.domain.repositories.*;
+import com.ps.studybuddy.querybudget.QueryBudgetDataset;
+import com.ps.studybuddy.security.utility.JWTTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Fetches the list and detail endpoints of GroupController and UserController in every negotiated encoding and checks
+ * that the binary encodings are selected by the Accept header and decode to the same content as JSON. The benchmark
+ * logs per endpoint the payload size (plain and gzipped) and the CPU time of serializing the response body with the
+ * mapper of each encoding, it only runs when asked for, e.g.
+ * mvn test -Dtest=ResponseEncodingBenchmarkTests -Dencoding.benchmark=true
+ */
+@SpringBootTest(properties = "async-controllers.enabled=false")
+@AutoConfigureMockMvc
+@Transactional
+class ResponseEncodingBenchmarkTests {
+    private static final List<MediaType> ENCODINGS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+    private static final int DATA_SIZE = 20;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1_000;
+    private static final Comparator<JsonNode> SAME_VALUE = ResponseEncodingBenchmarkTests::compareValues;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private TopicRepository topicRepository;
+    @Autowired
+    private DashboardEntryRepository dashboardEntryRepository;
+    @Autowired
+    private JWTTokenProvider jwtTokenProvider;
+    private String authorization;
+
+    @Test
+    void everyEncodingRoundTrips() throws Exception {
+        ObjectMapper jsonMapper = objectMapperFor(MediaType.APPLICATION_JSON);
+        for (Map.Entry<String, MockHttpServletRequestBuilder> endpoint : seedEndpoints().entrySet()) {
+            JsonNode json = null;
+            for (MediaType encoding : ENCODINGS) {
+                byte[] body = fetch(endpoint.getKey(), endpoint.getValue(), encoding);
+                if (encoding.equals(MediaType.APPLICATION_JSON)) {
+                    json = jsonMapper.readTree(body);
+                } else {
+                    assertThat(json.equals(SAME_VALUE, objectMapperFor(encoding).readTree(body)))
+                            .as("%s in %s decodes to the JSON content", endpoint.getKey(), encoding)
+                            .isTrue();
+                }
+            }
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "encoding.benchmark", matches = "true")
+    void compareEncodings() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-36s %-26s %10s %10s %14s", "endpoint", "encoding", "bytes", "gzip", "serialize us"));
+        ObjectMapper jsonMapper = objectMapperFor(MediaType.APPLICATION_JSON);
+        for (Map.Entry<String, MockHttpServletRequestBuilder> endpoint : seedEndpoints().entrySet()) {
+            long jsonBytes = 0;
+            Object responseBody = null;
+            for (MediaType encoding : ENCODINGS) {
+                byte[] body = fetch(endpoint.getKey(), endpoint.getValue(), encoding);
+                if (encoding.equals(MediaType.APPLICATION_JSON)) {
+                    jsonBytes = body.length;
+                    // the serialization timings use the same tree for every encoding
+                    responseBody = jsonMapper.readValue(body, Object.class);
+                } else {
+                    assertThat((long) body.length).as("%s in %s", endpoint.getKey(), encoding).isLessThan(jsonBytes);
+                }
+                double serializeMicros = serializationMicros(responseBody, objectMapperFor(encoding));
+                report.add(String.format("%-36s %-26s %10d %10d %14.1f", endpoint.getKey(), encoding, body.length,
+                        gzippedSize(body), serializeMicros));
+            }
+        }
+        LOGGER.info("Response encodings\n" + String.join("\n", report));
+    }
+
+    /**
+     * Seeds a user with groups and returns the endpoints to fetch as that user
+     */
+    private Map<String, MockHttpServletRequestBuilder> seedEndpoints() {
+        QueryBudgetDataset dataset = new QueryBudgetDataset(this.userRepository, this.groupRepository,
+                this.locationRepository, this.topicRepository, this.dashboardEntryRepository, this.jwtTokenProvider);
+        User user = dataset.userWithGroups(DATA_SIZE);
+        Group group = dataset.group(user, DATA_SIZE);
+        this.authorization = dataset.authorizationHeader(user);
+        Map<String, MockHttpServletRequestBuilder> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /groups", get("/groups"));
+        endpoints.put("GET /groups/where-member", get("/groups/where-member"));
+        endpoints.put("GET /groups/{id}", get("/groups/{id}", group.getId()));
+        endpoints.put("GET /groups/members/{groupId}", get("/groups/members/{groupId}", group.getId()));
+        endpoints.put("GET /users", get("/users").param("size", "50"));
+        endpoints.put("GET /users/meetings-member", get("/users/meetings-member"));
+        endpoints.put("GET /users/meeting-locations-member", get("/users/meeting-locations-member"));
+        endpoints.put("GET /users/dashboard", get("/users/dashboard"));
+        return endpoints;
+    }
+
+    private byte[] fetch(String endpoint, MockHttpServletRequestBuilder request, MediaType encoding) throws Exception {
+        MvcResult result = this.mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, this.authorization).accept(encoding)).andReturn();
+        assertThat(result.getResponse().getStatus()).as(endpoint).isEqualTo(200);
+        assertThat(MediaType.parseMediaType(result.getResponse().getContentType()).isCompatibleWith(encoding))
+                .as("content type of %s for %s", endpoint, encoding)
+                .isTrue();
+        return result.getResponse().getContentAsByteArray();
+    }
+
+    private ObjectMapper objectMapperFor(MediaType encoding) {
+        for (HttpMessageConverter<?> converter : this.handlerAdapter.getMessageConverters()) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter && converter.getSupportedMediaTypes().contains(encoding)) {
+                return ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper();
+            }
+        }
+        throw new IllegalStateException("No converter for " + encoding);
+    }
+
+    /**
+     * Compares a value of the JSON response with the same value in a binary encoding. CBOR and Smile keep the binary
+     * number types, JSON reads them back as the smallest type that fits. The binary mappers also write UUIDs as 16 raw
+     * bytes and dates as epoch milliseconds, where JSON has their text.
+     */
+    private static int compareValues(JsonNode expected, JsonNode actual) {
+        if (expected.isNumber() && actual.isNumber()) {
+            return Double.compare(expected.doubleValue(), actual.doubleValue());
+        }
+        if (expected.isTextual() && actual.isBinary()) {
+            ByteBuffer bytes = ByteBuffer.wrap(((BinaryNode) actual).binaryValue());
+            return bytes.remaining() == 16 && expected.textValue().equals(new UUID(bytes.getLong(), bytes.getLong()).toString())
+                    ? 0 : 1;
+        }
+        if (expected.isTextual() && actual.isIntegralNumber()) {
+            try {
+                return new StdDateFormat().parse(expected.textValue()).getTime() == actual.longValue() ? 0 : 1;
+            } catch (ParseException e) {
+                return 1;
+            }
+        }
+        return expected.equals(actual) ? 0 : 1;
+    }
+
+    private double serializationMicros(Object body, ObjectMapper objectMapper) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            objectMapper.writeValueAsBytes(body);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            objectMapper.writeValueAsBytes(body);
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+
+    private int gzippedSize(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.size();
+    }
+}
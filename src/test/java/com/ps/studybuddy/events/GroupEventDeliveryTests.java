@@ -0,0 +1,120 @@
+package com.ps.studybuddy.events;
+
+import com.ps.studybuddy.domain.dtos.GroupCreateDTO;
+import com.ps.studybuddy.domain.dtos.LocationDTO;
+import com.ps.studybuddy.domain.entities.DashboardEntry;
+import com.ps.studybuddy.domain.entities.User;
+import com.ps.studybuddy.domain.enumeration.GroupEventType;
+import com.ps.studybuddy.domain.enumeration.GroupRole;
+import com.ps.studybuddy.domain.enumeration.Role;
+import com.ps.studybuddy.domain.repositories.DashboardEntryRepository;
+import com.ps.studybuddy.domain.repositories.UserRepository;
+import com.ps.studybuddy.services.DashboardService;
+import com.ps.studybuddy.services.GroupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Group events travel from the transaction of the change through the outbox and the in-memory transport to the
+ * GroupEventHandlers. Nothing here runs in a test transaction: the outbox rows are only relayed once they committed.
+ */
+@SpringBootTest(properties = {"events.transport=in-memory", "outbox.relay.interval-millis=50"})
+class GroupEventDeliveryTests {
+    private static final long DELIVERY_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DashboardEntryRepository dashboardEntryRepository;
+    @SpyBean
+    private DashboardService dashboardService;
+
+    private User admin;
+    private Authentication authentication;
+
+    @BeforeEach
+    void createAdmin() {
+        String username = "events-" + UUID.randomUUID();
+        this.admin = this.userRepository.save(User.builder()
+                .createdDate(new Date())
+                .firstName("Event")
+                .lastName("User")
+                .username(username)
+                .email(username + "@example.com")
+                .password("not-a-password-hash")
+                .avatarColor("#000000")
+                .role(Role.ROLE_USER.name())
+                .authorities(Role.ROLE_USER.getAuthorities())
+                .isActive(true)
+                .isNotLocked(true)
+                .groupsWhereMember(new ArrayList<>())
+                .groupsWhereAdmin(new ArrayList<>())
+                .build());
+        this.authentication = new UsernamePasswordAuthenticationToken(username, null);
+    }
+
+    @AfterEach
+    void deleteAdmin() {
+        this.dashboardEntryRepository.findDashboardOfUser(this.admin.getUsername())
+                .forEach(this.dashboardEntryRepository::delete);
+        this.userRepository.deleteById(this.admin.getId());
+    }
+
+    @Test
+    void createdGroupReachesTheDashboardThroughTheOutbox() throws Exception {
+        this.groupService.createGroup(GroupCreateDTO.builder()
+                .name("Event delivery")
+                .description("Group created by an event delivery test")
+                .location(LocationDTO.builder().name("Library").latitude(45.0).longitude(15.0).build())
+                .topics(new ArrayList<>())
+                .build(), this.authentication);
+
+        verify(this.dashboardService, timeout(DELIVERY_TIMEOUT_MILLIS)).handle(argThat(event ->
+                event.getType() == GroupEventType.GROUP_CREATED && this.admin.getId().equals(event.getUserId())));
+        assertThat(awaitDashboard(entries -> !entries.isEmpty()))
+                .singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.getGroupName()).isEqualTo("Event delivery");
+                    assertThat(entry.getRole()).isEqualTo(GroupRole.ADMIN);
+                });
+
+        UUID groupId = awaitDashboard(entries -> !entries.isEmpty()).get(0).getGroupId();
+        this.groupService.deleteGroup(groupId, this.authentication);
+
+        verify(this.dashboardService, timeout(DELIVERY_TIMEOUT_MILLIS)).handle(argThat(event ->
+                event.getType() == GroupEventType.GROUP_DELETED && groupId.equals(event.getGroupId())));
+        assertThat(awaitDashboard(List::isEmpty)).isEmpty();
+    }
+
+    /**
+     * The handler is called before its transaction commits, so the read model is polled until it matches
+     */
+    private List<DashboardEntry> awaitDashboard(Predicate<List<DashboardEntry>> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DELIVERY_TIMEOUT_MILLIS;
+        List<DashboardEntry> entries = this.dashboardEntryRepository.findDashboardOfUser(this.admin.getUsername());
+        while (!condition.test(entries) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            entries = this.dashboardEntryRepository.findDashboardOfUser(this.admin.getUsername());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,145 @@
+package com.ps.studybuddy.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.domain.entities.OutboxMessage;
+import com.ps.studybuddy.domain.enumeration.GroupEventType;
+import com.ps.studybuddy.domain.repositories.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTests {
+    private static final int BATCH_SIZE = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OutboxMessageRepository outboxMessageRepository;
+    private GroupEventTransport transport;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        this.outboxMessageRepository = mock(OutboxMessageRepository.class);
+        this.transport = mock(GroupEventTransport.class);
+        this.transactionManager = mock(PlatformTransactionManager.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.relay = new OutboxRelay(this.outboxMessageRepository, this.transport, this.objectMapper,
+                this.transactionManager, this.meterRegistry, BATCH_SIZE, 5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void poisonMessageIsMarkedFailedAndTheRestOfTheBatchIsSent() throws Exception {
+        OutboxMessage first = message(1L);
+        OutboxMessage poison = OutboxMessage.builder().id(2L).payload("{not json").createdDate(new Date()).build();
+        OutboxMessage third = message(3L);
+        when(this.outboxMessageRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(first, poison, third));
+
+        this.relay.relay();
+
+        ArgumentCaptor<List<GroupEvent>> sent = ArgumentCaptor.forClass(List.class);
+        verify(this.transport).send(sent.capture());
+        assertThat(sent.getValue()).extracting(GroupEvent::getId)
+                .containsExactly(eventIdOf(first), eventIdOf(third));
+        verify(this.outboxMessageRepository).deleteByIds(List.of(1L, 3L));
+        ArgumentCaptor<List<Long>> failed = ArgumentCaptor.forClass(List.class);
+        verify(this.outboxMessageRepository).markFailed(failed.capture(), any(Date.class));
+        assertThat(failed.getValue()).containsExactly(2L);
+        verify(this.transactionManager).commit(any());
+        assertThat(this.meterRegistry.get("outbox.relay.failed").counter().count()).isEqualTo(1);
+        assertThat(this.meterRegistry.get("outbox.relay.events").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void batchOfOnlyPoisonMessagesIsNotSent() {
+        // valid JSON, but not a group event
+        OutboxMessage poison = OutboxMessage.builder().id(1L).payload("[]").createdDate(new Date()).build();
+        when(this.outboxMessageRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(poison));
+
+        this.relay.relay();
+
+        verify(this.transport, never()).send(any());
+        verify(this.outboxMessageRepository, never()).deleteByIds(anyCollection());
+        verify(this.outboxMessageRepository).markFailed(eq(List.of(1L)), any(Date.class));
+    }
+
+    @Test
+    void batchThatCannotBeSentStaysInTheOutboxAndIsRetried() throws Exception {
+        // the failed send rolls the batch back, the next run locks the same message again
+        OutboxMessage message = message(1L);
+        when(this.outboxMessageRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(message));
+        doThrow(new IllegalStateException("broker down")).doNothing().when(this.transport).send(any());
+
+        this.relay.relay();
+
+        verify(this.outboxMessageRepository, never()).deleteByIds(anyCollection());
+        verify(this.transactionManager).rollback(any());
+
+        this.relay.relay();
+
+        verify(this.transport, times(2)).send(argThat(events -> events.size() == 1
+                && events.get(0).getId().equals(message.getEventId())));
+        verify(this.outboxMessageRepository).deleteByIds(List.of(1L));
+        verify(this.transactionManager).commit(any());
+    }
+
+    @Test
+    void fullBatchesAreRelayedUntilTheOutboxIsDrained() throws Exception {
+        List<OutboxMessage> full = new ArrayList<>();
+        for (long id = 1; id <= BATCH_SIZE; id++) {
+            full.add(message(id));
+        }
+        when(this.outboxMessageRepository.lockNextBatch(anyInt()))
+                .thenReturn(full)
+                .thenReturn(List.of(message(11L)))
+                .thenReturn(List.of());
+
+        this.relay.relay();
+
+        verify(this.outboxMessageRepository, times(2)).lockNextBatch(BATCH_SIZE);
+        verify(this.transport, times(2)).send(any());
+    }
+
+    private OutboxMessage message(long id) throws Exception {
+        GroupEvent event = GroupEvent.builder()
+                .id(UUID.randomUUID())
+                .type(GroupEventType.MEMBER_JOINED)
+                .groupId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .occurredDate(new Date())
+                .build();
+        return OutboxMessage.builder()
+                .id(id)
+                .eventId(event.getId())
+                .eventType(event.getType().name())
+                .groupId(event.getGroupId())
+                .payload(this.objectMapper.writeValueAsString(event))
+                .createdDate(new Date())
+                .build();
+    }
+
+    private static UUID eventIdOf(OutboxMessage message) {
+        return message.getEventId();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ps.studybuddy.load;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EndpointReport {
+    private String endpoint;
+    private long requests;
+    private long errors;
+    private double errorRate;
+    private double throughputPerSecond;
+    private double p50Millis;
+    private double p90Millis;
+    private double p99Millis;
+    private double p999Millis;
+    private double maxMillis;
+    private Map<String, Long> outcomes;
+}
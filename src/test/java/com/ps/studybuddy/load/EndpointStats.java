@@ -0,0 +1,57 @@
+package com.ps.studybuddy.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of the requests of one endpoint. Latency is measured from the time the request was
+ * scheduled to arrive, not from the time it was sent, so a server that falls behind is not hidden by a driver that
+ * falls behind with it.
+ */
+public class EndpointStats {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public void record(long latencyNanos, String outcome, boolean error) {
+        this.latencies.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        this.requests.increment();
+        if (error) {
+            this.errors.increment();
+        }
+        this.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    public EndpointReport toReport(String endpoint, double durationSeconds) {
+        Map<String, Long> outcomeCounts = new TreeMap<>();
+        this.outcomes.forEach((outcome, count) -> outcomeCounts.put(outcome, count.sum()));
+        long requestCount = this.requests.sum();
+        long errorCount = this.errors.sum();
+        return EndpointReport.builder()
+                .endpoint(endpoint)
+                .requests(requestCount)
+                .errors(errorCount)
+                .errorRate(requestCount == 0 ? 0 : (double) errorCount / requestCount)
+                .throughputPerSecond(requestCount / durationSeconds)
+                .p50Millis(percentileMillis(50))
+                .p90Millis(percentileMillis(90))
+                .p99Millis(percentileMillis(99))
+                .p999Millis(percentileMillis(99.9))
+                .maxMillis(this.latencies.getMaxValue() / 1_000_000.0)
+                .outcomes(outcomeCounts)
+                .build();
+    }
+
+    private double percentileMillis(double percentile) {
+        return this.latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+}
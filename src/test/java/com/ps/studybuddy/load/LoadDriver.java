@@ -0,0 +1,124 @@
+package com.ps.studybuddy.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver: requests arrive as a Poisson process at the configured rate whether or not the earlier
+ * requests have completed, like independent users do. Every arrival picks a random virtual user and a weighted
+ * random operation and is sent asynchronously. Arrivals are dropped, and counted, only when maxInFlight requests
+ * are already outstanding.
+ */
+public class LoadDriver {
+    private final HttpClient httpClient;
+    private final List<LoadOperation> operations;
+    private final List<VirtualUser> users;
+    private final int maxInFlight;
+    private final int totalWeight;
+
+    public LoadDriver(HttpClient httpClient, List<LoadOperation> operations, List<VirtualUser> users, int maxInFlight) {
+        this.httpClient = httpClient;
+        this.operations = operations;
+        this.users = users;
+        this.maxInFlight = maxInFlight;
+        this.totalWeight = operations.stream().mapToInt(LoadOperation::getWeight).sum();
+    }
+
+    /**
+     * Sends requests for the given duration and waits for the outstanding ones
+     * @param scenario name of the traffic mix, used to store and compare reports
+     * @param arrivalRatePerSecond mean number of requests per second
+     * @param durationSeconds how long requests keep arriving
+     * @param seed seed of the arrival times and of the picked users and operations
+     * @return latency, throughput and errors per endpoint
+     */
+    public LoadReport run(String scenario, double arrivalRatePerSecond, double durationSeconds, long seed) throws InterruptedException {
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong dropped = new AtomicLong();
+        SplittableRandom random = new SplittableRandom(seed);
+        Date startedDate = new Date();
+        long start = System.nanoTime();
+        long end = start + (long) (durationSeconds * 1_000_000_000L);
+        long nextArrival = start;
+        while (true) {
+            nextArrival += (long) (-Math.log(1 - random.nextDouble()) / arrivalRatePerSecond * 1_000_000_000L);
+            if (nextArrival >= end) {
+                break;
+            }
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            VirtualUser user = this.users.get(random.nextInt(this.users.size()));
+            LoadOperation operation = pickOperation(user, random);
+            if (inFlight.get() >= this.maxInFlight) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            send(operation, user, random, nextArrival, stats, inFlight);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        List<EndpointReport> endpoints = new ArrayList<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.add(endpointStats.toReport(endpoint, durationSeconds)));
+        endpoints.sort(Comparator.comparing(EndpointReport::getEndpoint));
+        return LoadReport.builder()
+                .scenario(scenario)
+                .startedDate(startedDate)
+                .arrivalRatePerSecond(arrivalRatePerSecond)
+                .durationSeconds(durationSeconds)
+                .dropped(dropped.get())
+                .endpoints(endpoints)
+                .build();
+    }
+
+    private LoadOperation pickOperation(VirtualUser user, SplittableRandom random) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            int pick = random.nextInt(this.totalWeight);
+            for (LoadOperation operation : this.operations) {
+                pick -= operation.getWeight();
+                if (pick < 0) {
+                    if (operation.isApplicable(user)) {
+                        return operation;
+                    }
+                    break;
+                }
+            }
+        }
+        return this.operations.get(0);
+    }
+
+    private void send(LoadOperation operation, VirtualUser user, SplittableRandom random, long scheduledNanos,
+                      Map<String, EndpointStats> stats, AtomicInteger inFlight) {
+        EndpointStats endpointStats = stats.computeIfAbsent(operation.getName(), name -> new EndpointStats());
+        HttpRequest request;
+        try {
+            request = operation.createRequest(user, random);
+        } catch (Exception e) {
+            endpointStats.record(0, e.getClass().getSimpleName(), true);
+            return;
+        }
+        inFlight.incrementAndGet();
+        this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - scheduledNanos;
+                    if (failure != null) {
+                        endpointStats.record(latency, failure.getClass().getSimpleName(), true);
+                    } else {
+                        endpointStats.record(latency, String.valueOf(response.statusCode()), response.statusCode() >= 400);
+                        operation.onResponse(user, request, response);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+}
@@ -0,0 +1,26 @@
+package com.ps.studybuddy.load;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+
+/**
+ * One kind of request of a traffic mix. The name is the endpoint the results are reported under.
+ */
+public interface LoadOperation {
+    String getName();
+
+    int getWeight();
+
+    HttpRequest createRequest(VirtualUser user, SplittableRandom random) throws Exception;
+
+    /**
+     * @return false if the user cannot run the operation now, e.g. leaving a group without having joined one
+     */
+    default boolean isApplicable(VirtualUser user) {
+        return true;
+    }
+
+    default void onResponse(VirtualUser user, HttpRequest request, HttpResponse<String> response) {
+    }
+}
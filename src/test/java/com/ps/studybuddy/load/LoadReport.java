@@ -0,0 +1,116 @@
+package com.ps.studybuddy.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Result of one load test run. Reports are stored as JSON files named after the scenario and the start time, so
+ * the latest run can be compared with the previous one or with a chosen baseline.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LoadReport {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private String scenario;
+    private Date startedDate;
+    private double arrivalRatePerSecond;
+    private double durationSeconds;
+    private long dropped;
+    private List<EndpointReport> endpoints;
+
+    public Path save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(this.scenario + "-" + this.startedDate.getTime() + ".json");
+        OBJECT_MAPPER.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public static LoadReport read(Path file) throws IOException {
+        return OBJECT_MAPPER.readValue(file.toFile(), LoadReport.class);
+    }
+
+    /**
+     * @return the most recent report of the scenario in the directory that started before this one
+     */
+    public Optional<Path> findPrevious(Path directory) throws IOException {
+        return findPrevious(directory, this.scenario);
+    }
+
+    /**
+     * @return the most recent report of the given scenario in the directory that started before this one
+     */
+    public Optional<Path> findPrevious(Path directory, String scenario) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        String prefix = scenario + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    // "traffic-mix-" also prefixes the reports of "traffic-mix-async", their names do not parse as a start time
+                    .filter(file -> startTimeOf(file, prefix) != Long.MIN_VALUE)
+                    .filter(file -> startTimeOf(file, prefix) < this.startedDate.getTime())
+                    .max(Comparator.comparingLong(file -> startTimeOf(file, prefix)));
+        }
+    }
+
+    private static long startTimeOf(Path file, String prefix) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - ".json".length()));
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    public String format() {
+        StringBuilder builder = new StringBuilder(String.format("%s at %.0f/s for %.0fs, %d arrivals dropped%n",
+                this.scenario, this.arrivalRatePerSecond, this.durationSeconds, this.dropped));
+        builder.append(String.format("%-32s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (EndpointReport endpoint : this.endpoints) {
+            builder.append(String.format("%-32s %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint.getEndpoint(), endpoint.getThroughputPerSecond(), endpoint.getErrorRate() * 100,
+                    endpoint.getP50Millis(), endpoint.getP90Millis(), endpoint.getP99Millis(),
+                    endpoint.getP999Millis(), endpoint.getMaxMillis()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param baseline an earlier run of the same scenario
+     * @return the change of throughput, p99 latency and error rate of every endpoint present in both runs
+     */
+    public String compareWith(LoadReport baseline) {
+        Map<String, EndpointReport> baselineEndpoints = baseline.getEndpoints().stream()
+                .collect(Collectors.toMap(EndpointReport::getEndpoint, endpoint -> endpoint));
+        StringBuilder builder = new StringBuilder(String.format("compared with the run of %s%n", baseline.getStartedDate()));
+        builder.append(String.format("%-32s %14s %14s %14s%n", "endpoint", "req/s", "p99 ms", "errors"));
+        for (EndpointReport endpoint : this.endpoints) {
+            EndpointReport before = baselineEndpoints.get(endpoint.getEndpoint());
+            if (before == null) {
+                continue;
+            }
+            builder.append(String.format("%-32s %+13.1f%% %+13.1f%% %+13.2f%n", endpoint.getEndpoint(),
+                    change(before.getThroughputPerSecond(), endpoint.getThroughputPerSecond()),
+                    change(before.getP99Millis(), endpoint.getP99Millis()),
+                    (endpoint.getErrorRate() - before.getErrorRate()) * 100));
+        }
+        return builder.toString();
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ps.studybuddy.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.dataset.DatasetGenerator;
+import com.ps.studybuddy.dataset.DatasetSpec;
+import com.ps.studybuddy.domain.dtos.GroupDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.ps.studybuddy.security.constant.SecurityConstant.JWT_TOKEN_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays the traffic mix against the application started on a random port and the configured PostgreSQL
+ * database, seeded with a synthetic dataset on the first run. Only runs when asked for, e.g.
+ * mvn test -Dtest=StudyBuddyLoadTest -Dload.test=true -Dload.rate=200 -Dload.duration-seconds=120
+ * The report is logged, compared with the previous run (or with -Dload.baseline=file) and stored in
+ * target/load-results. The virtual users act on the groups of the dataset only, so repeated runs do not grow the
+ * database. With -Dasync-controllers.enabled=true the run is stored as its own scenario and compared with
+ * the latest synchronous run, so running both modes one after the other compares them. Every virtual user comes from
+ * the same address, so the per-address rate limit is turned off.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "rate-limit.enabled=false")
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+class StudyBuddyLoadTest {
+    private static final Path RESULTS_DIRECTORY = Path.of("target", "load-results");
+    private final Logger LOGGER = LoggerFactory.getLogger(getClass());
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${async-controllers.enabled}")
+    private boolean asyncControllers;
+
+    @Test
+    void replayTrafficMix() throws Exception {
+        DatasetSpec spec = DatasetSpec.builder()
+                .seed(Long.getLong("load.dataset.seed", 7))
+                .users(Integer.getInteger("load.dataset.users", 5_000))
+                .groups(Integer.getInteger("load.dataset.groups", 2_000))
+                .topics(Integer.getInteger("load.dataset.topics", 500))
+                .maxMembersPerGroup(50)
+                .maxMeetingsPerGroup(50)
+                .build();
+        seedDataset(spec);
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Integer.getInteger("load.client-threads", 16));
+        LoadReport report;
+        try {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(clientExecutor)
+                    .build();
+            StudyBuddyTrafficMix trafficMix = new StudyBuddyTrafficMix("http://localhost:" + this.port + "/api", spec, this.objectMapper);
+            List<VirtualUser> users = logIn(httpClient, trafficMix, spec, Integer.getInteger("load.users", 100));
+            LoadDriver driver = new LoadDriver(httpClient, trafficMix.operations(), users, Integer.getInteger("load.max-in-flight", 2_000));
+            double rate = Double.parseDouble(System.getProperty("load.rate", "50"));
+
+            String scenario = this.asyncControllers ? StudyBuddyTrafficMix.NAME + "-async" : StudyBuddyTrafficMix.NAME;
+            driver.run(scenario, rate, Double.parseDouble(System.getProperty("load.warmup-seconds", "10")), 1);
+            report = driver.run(scenario, rate,
+                    Double.parseDouble(System.getProperty("load.duration-seconds", "60")), 2);
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+
+        LOGGER.info("Load test report\n" + report.format());
+        String baseline = System.getProperty("load.baseline");
+        Optional<Path> baselineFile = baseline != null ? Optional.of(Path.of(baseline))
+                : report.findPrevious(RESULTS_DIRECTORY, StudyBuddyTrafficMix.NAME);
+        if (baselineFile.isPresent()) {
+            LOGGER.info("Compared with " + baselineFile.get() + "\n" + report.compareWith(LoadReport.read(baselineFile.get())));
+        }
+        LOGGER.info("Stored the report in " + report.save(RESULTS_DIRECTORY));
+        assertThat(report.getEndpoints()).isNotEmpty();
+    }
+
+    private void seedDataset(DatasetSpec spec) {
+        Integer existing = this.jdbcTemplate.queryForObject("select count(*) from app_user where username = ?",
+                Integer.class, DatasetGenerator.username(spec, 0));
+        if (existing == null || existing == 0) {
+            this.datasetGenerator.generate(spec);
+        }
+    }
+
+    /**
+     * Logs in the first users of the dataset. A user who administers one of the groups of the dataset plans the
+     * meetings of that group, the others do not plan meetings.
+     */
+    private List<VirtualUser> logIn(HttpClient httpClient, StudyBuddyTrafficMix trafficMix, DatasetSpec spec, int count) throws Exception {
+        List<VirtualUser> users = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            VirtualUser user = new VirtualUser(DatasetGenerator.username(spec, index), spec.getPassword());
+            HttpResponse<String> login = httpClient.send(trafficMix.login(user), HttpResponse.BodyHandlers.ofString());
+            assertThat(login.statusCode()).as("login of " + user.getUsername()).isEqualTo(200);
+            user.setToken(login.headers().firstValue(JWT_TOKEN_HEADER).orElseThrow());
+
+            HttpResponse<String> adminGroups = httpClient.send(trafficMix.get(user, "/groups/where-admin"),
+                    HttpResponse.BodyHandlers.ofString());
+            GroupDTO[] groups = this.objectMapper.readValue(adminGroups.body(), GroupDTO[].class);
+            if (groups.length > 0) {
+                user.setAdminGroupId(groups[0].getId());
+            }
+            users.add(user);
+        }
+        LOGGER.info(users.stream().filter(user -> user.getAdminGroupId() != null).count() + " of " + count
+                + " virtual users administer a group of the dataset");
+        return users;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ps.studybuddy.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.dataset.DatasetGenerator;
+import com.ps.studybuddy.dataset.DatasetSpec;
+import com.ps.studybuddy.domain.dtos.GroupMeetingDatesDTO;
+import com.ps.studybuddy.domain.dtos.UserLoginDTO;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+
+import static com.ps.studybuddy.security.constant.SecurityConstant.TOKEN_PREFIX;
+
+/**
+ * The traffic mix of a class using the app: mostly reading groups, topics and the dashboard, some joining and
+ * leaving groups, admins planning meetings and the occasional login.
+ */
+public class StudyBuddyTrafficMix {
+    public static final String NAME = "traffic-mix";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final DatasetSpec spec;
+    private final ObjectMapper objectMapper;
+
+    public StudyBuddyTrafficMix(String baseUrl, DatasetSpec spec, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.spec = spec;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<LoadOperation> operations() {
+        return List.of(
+                get("GET /groups/where-member", 20, (user, random) -> "/groups/where-member"),
+                get("GET /groups/{id}", 20, (user, random) -> "/groups/" + randomGroupId(random)),
+                get("GET /topics", 15, (user, random) -> "/topics"),
+                get("GET /users/dashboard", 10, (user, random) -> "/users/dashboard"),
+                new Operation("POST /groups/join/{id}", 10) {
+                    @Override
+                    public HttpRequest createRequest(VirtualUser user, SplittableRandom random) {
+                        return post(user, "/groups/join/" + randomGroupId(random), "");
+                    }
+
+                    @Override
+                    public void onResponse(VirtualUser user, HttpRequest request, HttpResponse<String> response) {
+                        if (response.statusCode() < 400) {
+                            user.getJoinedGroups().add(groupIdOf(request));
+                        }
+                    }
+                },
+                new Operation("POST /groups/leave/{id}", 10) {
+                    @Override
+                    public boolean isApplicable(VirtualUser user) {
+                        return !user.getJoinedGroups().isEmpty();
+                    }
+
+                    @Override
+                    public HttpRequest createRequest(VirtualUser user, SplittableRandom random) {
+                        Iterator<UUID> joinedGroups = user.getJoinedGroups().iterator();
+                        UUID groupId = joinedGroups.next();
+                        user.getJoinedGroups().remove(groupId);
+                        return post(user, "/groups/leave/" + groupId, "");
+                    }
+                },
+                new Operation("POST /groups/add-meeting-dates", 5) {
+                    @Override
+                    public boolean isApplicable(VirtualUser user) {
+                        return user.getAdminGroupId() != null;
+                    }
+
+                    @Override
+                    public HttpRequest createRequest(VirtualUser user, SplittableRandom random) throws JsonProcessingException {
+                        Date meetingDate = new Date(System.currentTimeMillis() + (1 + random.nextInt(365)) * 86_400_000L);
+                        GroupMeetingDatesDTO dto = new GroupMeetingDatesDTO(user.getAdminGroupId(), List.of(meetingDate));
+                        return post(user, "/groups/add-meeting-dates", objectMapper.writeValueAsString(dto));
+                    }
+                },
+                new Operation("POST /login", 3) {
+                    @Override
+                    public HttpRequest createRequest(VirtualUser user, SplittableRandom random) throws JsonProcessingException {
+                        return login(user);
+                    }
+                }
+        );
+    }
+
+    public HttpRequest login(VirtualUser user) throws JsonProcessingException {
+        UserLoginDTO dto = UserLoginDTO.builder()
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .build();
+        return HttpRequest.newBuilder(URI.create(this.baseUrl + "/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(this.objectMapper.writeValueAsString(dto)))
+                .build();
+    }
+
+    public HttpRequest get(VirtualUser user, String path) {
+        return HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", TOKEN_PREFIX + user.getToken())
+                .GET()
+                .build();
+    }
+
+    public HttpRequest post(VirtualUser user, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", TOKEN_PREFIX + user.getToken())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private UUID randomGroupId(SplittableRandom random) {
+        return DatasetGenerator.groupId(this.spec, random.nextInt(this.spec.getGroups()));
+    }
+
+    private static UUID groupIdOf(HttpRequest request) {
+        String path = request.uri().getPath();
+        return UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    private LoadOperation get(String name, int weight, PathFactory pathFactory) {
+        return new Operation(name, weight) {
+            @Override
+            public HttpRequest createRequest(VirtualUser user, SplittableRandom random) {
+                return get(user, pathFactory.create(user, random));
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface PathFactory {
+        String create(VirtualUser user, SplittableRandom random);
+    }
+
+    private abstract static class Operation implements LoadOperation {
+        private final String name;
+        private final int weight;
+
+        private Operation(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public int getWeight() {
+            return this.weight;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ps.studybuddy.load;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A logged in user of the load test with the groups it can act on. Requests of the same virtual user can run
+ * concurrently, so its state is thread-safe.
+ */
+public class VirtualUser {
+    private final String username;
+    private final String password;
+    private final Set<UUID> joinedGroups = ConcurrentHashMap.newKeySet();
+    private volatile String token;
+    private volatile UUID adminGroupId;
+
+    public VirtualUser(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    public String getUsername() {
+        return this.username;
+    }
+
+    public String getPassword() {
+        return this.password;
+    }
+
+    public String getToken() {
+        return this.token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public UUID getAdminGroupId() {
+        return this.adminGroupId;
+    }
+
+    public void setAdminGroupId(UUID adminGroupId) {
+        this.adminGroupId = adminGroupId;
+    }
+
+    public Set<UUID> getJoinedGroups() {
+        return this.joinedGroups;
+    }
+}
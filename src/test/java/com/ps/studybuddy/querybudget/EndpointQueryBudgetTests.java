@@ -0,0 +1,336 @@
+package com.ps.studybuddy.querybudget;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.domain.dtos.*;
+import com.ps.studybuddy.domain.entities.Group;
+import com.ps.studybuddy.domain.entities.User;
+import com.ps.studybuddy.domain.enumeration.Role;
+import com.ps.studybuddy.domain.repositories.*;
+import com.ps.studybuddy.security.utility.JWTTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Statement budgets of the read and write endpoints. The dataset of every call grows with the data size, so an
+ * endpoint that loads an association per group, member, topic or meeting date fails here instead of in production.
+ * The controllers run inline, a pool thread would not see the dataset of the test transaction, and the calls are not
+ * rate limited.
+ * <p>
+ * DELETE /users/{id} has no budget: deleting a user who still belongs to a group violates the foreign keys of
+ * group_members, the membership cleanup of UserService.deleteById is not implemented.
+ */
+@SpringBootTest(properties = {"async-controllers.enabled=false", "rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+@Transactional
+@ExtendWith(QueryBudgetExtension.class)
+class EndpointQueryBudgetTests {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private TopicRepository topicRepository;
+    @Autowired
+    private DashboardEntryRepository dashboardEntryRepository;
+    @Autowired
+    private JWTTokenProvider jwtTokenProvider;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private QueryBudgetDataset dataset;
+
+    @BeforeEach
+    void createDataset() {
+        this.dataset = new QueryBudgetDataset(this.userRepository, this.groupRepository, this.locationRepository,
+                this.topicRepository, this.dashboardEntryRepository, this.jwtTokenProvider);
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 8)
+    void getGroupById(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User admin = this.dataset.user();
+            Group group = this.dataset.group(admin, size);
+            return get("/groups/{id}", group.getId())
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(admin));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 1)
+    void getGroupByIdWithSparseFields(QueryBudgetRunner runner) throws Exception {
+        // the meeting dates are joined to the group row, the members and topics are never loaded
+        runner.verify(size -> {
+            User admin = this.dataset.user();
+            Group group = this.dataset.group(admin, size);
+            return get("/groups/{id}", group.getId()).param("fields", "name,meetingDates")
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(admin));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 4, dataSizes = {1, 5, 37})
+    void getGroupsByIds(QueryBudgetRunner runner) throws Exception {
+        // one query for the groups, one for their first members, one for the member counts and one batch for the topics,
+        // 37 groups is no multiple of the batch sizes the legacy batch fetch style would split the topics into
+        runner.verify(size -> {
+            User admin = this.dataset.user();
+            String[] ids = new String[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = this.dataset.group(admin, size).getId().toString();
+            }
+            return get("/groups/batch").param("ids", ids)
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(admin));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 1)
+    void countMembersOfGroup(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User admin = this.dataset.user();
+            Group group = this.dataset.group(admin, size);
+            return get("/groups/members/{groupId}/count", group.getId())
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(admin));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 4)
+    void getMembersOfGroup(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User admin = this.dataset.user();
+            Group group = this.dataset.group(admin, size);
+            return get("/groups/members/{groupId}", group.getId())
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(admin));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 8)
+    void getGroupsWhereUserIsMember(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User user = this.dataset.userWithGroups(size);
+            return get("/groups/where-member")
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 8)
+    void getGroupsWhereUserIsAdmin(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User user = this.dataset.userWithGroups(size);
+            return get("/groups/where-admin")
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 8)
+    void getGroupsByMemberId(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User user = this.dataset.userWithGroups(size);
+            return get("/groups/with-member/{id}", user.getId())
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 6)
+    void getMeetingsWhereMember(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User user = this.dataset.userWithGroups(size);
+            return get("/users/meetings-member")
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 6)
+    void getMeetingLocationsWhereMember(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User user = this.dataset.userWithGroups(size);
+            return get("/users/meeting-locations-member")
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 2)
+    void getDashboard(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User user = this.dataset.userWithGroups(size);
+            return get("/users/dashboard")
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 2, dataSizes = {5, 20, 50})
+    void getUserPage(QueryBudgetRunner runner) throws Exception {
+        // the page is always full, a partial first page would skip the count query
+        runner.verify(size -> {
+            User user = this.dataset.user();
+            this.dataset.users(size);
+            return get("/users").param("search", "budget-").param("size", "2")
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 1)
+    void getTopics(QueryBudgetRunner runner) throws Exception {
+        runner.verify(size -> {
+            User user = this.dataset.user();
+            for (int i = 0; i < size; i++) {
+                this.dataset.topic();
+            }
+            return get("/topics")
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 10)
+    void createGroup(QueryBudgetRunner runner) throws Exception {
+        // the admin, the location, the topic looked up and inserted, the group with its member and topic rows
+        runner.verify(size -> {
+            User admin = this.dataset.userWithGroups(size);
+            GroupCreateDTO dto = GroupCreateDTO.builder()
+                    .name("Budget group " + UUID.randomUUID())
+                    .description("Group created by a query budget test")
+                    .location(budgetLocation())
+                    .topics(List.of(budgetTopic()))
+                    .build();
+            return post("/groups/create").contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(dto))
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(admin));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 12)
+    void updateGroup(QueryBudgetRunner runner) throws Exception {
+        // the topics of the group are replaced with one statement whatever their number
+        runner.verify(size -> {
+            User admin = this.dataset.user();
+            Group group = this.dataset.group(admin, size);
+            GroupUpdateDTO dto = GroupUpdateDTO.builder()
+                    .id(group.getId())
+                    .name("Renamed budget group " + UUID.randomUUID())
+                    .description("Group updated by a query budget test")
+                    .location(budgetLocation())
+                    .topics(List.of(budgetTopic()))
+                    .build();
+            return post("/groups/update").contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(dto))
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(admin));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 70, scalesWithData = true)
+    void deleteGroup(QueryBudgetRunner runner) throws Exception {
+        // GroupService.deleteGroup loads the groups of every member and of every topic to unlink the inverse sides,
+        // one statement per member and per topic
+        runner.verify(size -> {
+            User admin = this.dataset.user();
+            Group group = this.dataset.group(admin, size);
+            return delete("/groups/delete/{groupId}", group.getId())
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(admin));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 6)
+    void joinGroup(QueryBudgetRunner runner) throws Exception {
+        // the member check loads the whole member set in one statement, its rows grow with the group
+        runner.verify(size -> {
+            Group group = this.dataset.group(this.dataset.user(), size);
+            User user = this.dataset.user();
+            return post("/groups/join/{groupId}", group.getId())
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(user));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 7)
+    void leaveGroup(QueryBudgetRunner runner) throws Exception {
+        // the member check loads the whole member set in one statement, its rows grow with the group
+        runner.verify(size -> {
+            Group group = this.dataset.group(this.dataset.user(), size);
+            User member = this.dataset.member(group);
+            return post("/groups/leave/{groupId}", group.getId())
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(member));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 3)
+    void register(QueryBudgetRunner runner) throws Exception {
+        // one query for username and email conflicts and the insert
+        runner.verify(size -> {
+            this.dataset.users(size);
+            String username = "budget-" + UUID.randomUUID();
+            UserCreateDTO dto = UserCreateDTO.builder()
+                    .firstName("Budget")
+                    .lastName("User")
+                    .username(username)
+                    .email(username + "@example.com")
+                    .password("budget-password")
+                    .role(Role.ROLE_USER.name())
+                    .build();
+            return post("/users/register").contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(dto));
+        });
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 8)
+    void updateUser(QueryBudgetRunner runner) throws Exception {
+        // the groups of the user are read once per side to evict their cached details
+        runner.verify(size -> {
+            User superAdmin = this.dataset.user(Role.ROLE_SUPER_ADMIN);
+            User user = this.dataset.userWithGroups(size);
+            UserUpdateDTO dto = UserUpdateDTO.builder()
+                    .id(user.getId())
+                    .firstName("Renamed")
+                    .lastName(user.getLastName())
+                    .username(user.getUsername())
+                    .newUsername(user.getUsername())
+                    .email(user.getEmail())
+                    .newEmail(user.getEmail())
+                    .isActive(true)
+                    .isNotLocked(true)
+                    .build();
+            return post("/users/update").contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(dto))
+                    .header(HttpHeaders.AUTHORIZATION, this.dataset.authorizationHeader(superAdmin));
+        });
+    }
+
+    private static LocationDTO budgetLocation() {
+        return LocationDTO.builder().name("Budget location " + UUID.randomUUID()).latitude(46.77).longitude(23.59).build();
+    }
+
+    private static TopicDTO budgetTopic() {
+        return TopicDTO.builder().name("budget-topic-" + UUID.randomUUID()).description("").build();
+    }
+}
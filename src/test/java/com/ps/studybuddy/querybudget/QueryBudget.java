@@ -0,0 +1,21 @@
+package com.ps.studybuddy.querybudget;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements one call of an endpoint may execute. The QueryBudgetRunner of the test runs the
+ * endpoint once per data size and fails when a call goes over maxStatements or, unless scalesWithData is set, when
+ * the number of statements changes with the data size.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int maxStatements();
+
+    int[] dataSizes() default {1, 5, 20};
+
+    boolean scalesWithData() default false;
+}
@@ -0,0 +1,150 @@
+package com.ps.studybuddy.querybudget;
+
+import com.ps.studybuddy.domain.entities.*;
+import com.ps.studybuddy.domain.enumeration.GroupRole;
+import com.ps.studybuddy.domain.enumeration.Role;
+import com.ps.studybuddy.domain.repositories.*;
+import com.ps.studybuddy.security.utility.JWTTokenProvider;
+
+import java.util.*;
+
+import static com.ps.studybuddy.security.constant.SecurityConstant.TOKEN_PREFIX;
+
+/**
+ * Seeds users, groups and topics for query budget tests. Every name gets a random suffix, so datasets of different
+ * sizes can live in the same test transaction.
+ */
+public class QueryBudgetDataset {
+    private final UserRepository userRepository;
+    private final GroupRepository groupRepository;
+    private final LocationRepository locationRepository;
+    private final TopicRepository topicRepository;
+    private final DashboardEntryRepository dashboardEntryRepository;
+    private final JWTTokenProvider jwtTokenProvider;
+
+    public QueryBudgetDataset(UserRepository userRepository, GroupRepository groupRepository,
+                              LocationRepository locationRepository, TopicRepository topicRepository,
+                              DashboardEntryRepository dashboardEntryRepository, JWTTokenProvider jwtTokenProvider) {
+        this.userRepository = userRepository;
+        this.groupRepository = groupRepository;
+        this.locationRepository = locationRepository;
+        this.topicRepository = topicRepository;
+        this.dashboardEntryRepository = dashboardEntryRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    public User user() {
+        return user(Role.ROLE_USER);
+    }
+
+    public User user(Role role) {
+        String username = "budget-" + UUID.randomUUID();
+        return this.userRepository.save(User.builder()
+                .createdDate(new Date())
+                .firstName("Budget")
+                .lastName("User")
+                .username(username)
+                .email(username + "@example.com")
+                .password("not-a-password-hash")
+                .avatarColor("#000000")
+                .role(role.name())
+                .authorities(role.getAuthorities())
+                .isActive(true)
+                .isNotLocked(true)
+                .groupsWhereMember(new ArrayList<>())
+                .groupsWhereAdmin(new ArrayList<>())
+                .build());
+    }
+
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user());
+        }
+        return users;
+    }
+
+    public Topic topic() {
+        return this.topicRepository.save(Topic.builder()
+                .createdDate(new Date())
+                .name("budget-topic-" + UUID.randomUUID())
+                .description("Topic seeded by a query budget test")
+                .groups(new ArrayList<>())
+                .build());
+    }
+
+    /**
+     * A group with the admin and size - 1 other members, size topics and size future meeting dates
+     */
+    public Group group(User admin, int size) {
+        Location location = this.locationRepository.save(Location.builder()
+                .name("Budget location " + UUID.randomUUID())
+                .latitude(46.77)
+                .longitude(23.59)
+                .build());
+        Set<User> members = new LinkedHashSet<>();
+        members.add(admin);
+        members.addAll(users(size - 1));
+        List<Topic> topics = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            topics.add(topic());
+        }
+        List<Date> meetingDates = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            meetingDates.add(new Date(System.currentTimeMillis() + i * 86_400_000L));
+        }
+        Group group = this.groupRepository.save(Group.builder()
+                .createdDate(new Date())
+                .name("Budget group " + UUID.randomUUID())
+                .description("Group seeded by a query budget test")
+                .location(location)
+                .admin(admin)
+                .members(members)
+                .topics(topics)
+                .meetingDates(meetingDates)
+                .build());
+        for (User member : members) {
+            member.getGroupsWhereMember().add(group);
+            this.dashboardEntryRepository.save(DashboardEntry.builder()
+                    .userId(member.getId())
+                    .groupId(group.getId())
+                    .role(member == admin ? GroupRole.ADMIN : GroupRole.MEMBER)
+                    .groupName(group.getName())
+                    .locationId(location.getId())
+                    .locationName(location.getName())
+                    .latitude(location.getLatitude())
+                    .longitude(location.getLongitude())
+                    .nextMeetingDate(meetingDates.get(0))
+                    .updatedDate(new Date())
+                    .build());
+        }
+        admin.getGroupsWhereAdmin().add(group);
+        return group;
+    }
+
+    /**
+     * A new user who joined the group after its other members
+     */
+    public User member(Group group) {
+        User member = user();
+        group.getMembers().add(member);
+        member.getGroupsWhereMember().add(group);
+        this.groupRepository.save(group);
+        return member;
+    }
+
+    /**
+     * A user who is the admin of size groups of size members each
+     */
+    public User userWithGroups(int size) {
+        User user = user();
+        for (int i = 0; i < size; i++) {
+            group(user, size);
+        }
+        return user;
+    }
+
+    public String authorizationHeader(User user) {
+        return TOKEN_PREFIX + this.jwtTokenProvider.generateJwtToken(new UserPrincipal(user));
+    }
+}
@@ -0,0 +1,36 @@
+package com.ps.studybuddy.querybudget;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Resolves a QueryBudgetRunner for test methods annotated with QueryBudget. Needs a Spring test context with MockMvc.
+ */
+public class QueryBudgetExtension implements ParameterResolver {
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == QueryBudgetRunner.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        QueryBudget budget = extensionContext.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        if (budget == null) {
+            throw new ParameterResolutionException(extensionContext.getRequiredTestMethod().getName()
+                    + " needs a @QueryBudget to use a QueryBudgetRunner");
+        }
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(extensionContext);
+        return new QueryBudgetRunner(budget,
+                applicationContext.getBean(MockMvc.class),
+                applicationContext.getBean(EntityManagerFactory.class),
+                applicationContext.getBean(CacheManager.class));
+    }
+}
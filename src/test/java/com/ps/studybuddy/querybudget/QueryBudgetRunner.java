@@ -0,0 +1,103 @@
+package com.ps.studybuddy.querybudget;
+
+import com.ps.studybuddy.monitoring.QueryStats;
+import com.ps.studybuddy.monitoring.QueryStatsHolder;
+import com.ps.studybuddy.monitoring.QueryStatsInterceptor;
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs one endpoint against datasets of the sizes declared by the QueryBudget of the test and checks the number of
+ * SQL statements of every call. Before each call the persistence context, the second-level cache and the
+ * application caches are cleared, so every call starts cold. The writes a call leaves for the commit are flushed and
+ * counted with the call; the outbox write that runs before the commit is not, the test transaction never commits,
+ * and the dashboard is updated later by the relay.
+ */
+public class QueryBudgetRunner {
+    private final QueryBudget budget;
+    private final MockMvc mockMvc;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+
+    public QueryBudgetRunner(QueryBudget budget, MockMvc mockMvc, EntityManagerFactory entityManagerFactory,
+                             CacheManager cacheManager) {
+        this.budget = budget;
+        this.mockMvc = mockMvc;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @param scenario seeds a dataset of the given size and returns the request to measure against it
+     * @return number of statements per data size
+     */
+    public Map<Integer, Long> verify(Scenario scenario) throws Exception {
+        Map<Integer, Long> statementsBySize = new LinkedHashMap<>();
+        for (int size : this.budget.dataSizes()) {
+            RequestBuilder request = scenario.seed(size);
+            clearCaches();
+            MvcResult result = this.mockMvc.perform(request).andReturn();
+            assertThat(result.getResponse().getStatus())
+                    .as("status of the call with data size %d", size)
+                    .isBetween(200, 299);
+            QueryStats stats = (QueryStats) result.getRequest().getAttribute(QueryStatsInterceptor.QUERY_STATS_ATTRIBUTE);
+            assertThat(stats).as("query stats of the call, is the request served by a controller?").isNotNull();
+            flushInto(stats);
+            statementsBySize.put(size, stats.getStatements());
+        }
+        assertThat(statementsBySize.values())
+                .as("statements per data size %s", statementsBySize)
+                .allMatch(statements -> statements <= this.budget.maxStatements());
+        if (!this.budget.scalesWithData()) {
+            assertThat(statementsBySize.values().stream().distinct().count())
+                    .as("statements must not grow with the data size, got %s", statementsBySize)
+                    .isEqualTo(1);
+        }
+        return statementsBySize;
+    }
+
+    /**
+     * The call joins the test transaction, so its writes are still pending in the persistence context. Outside of a
+     * test they are flushed when the call commits, so they are counted with the call.
+     */
+    private void flushInto(QueryStats stats) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(this.entityManagerFactory);
+        if (entityManager == null) {
+            return;
+        }
+        QueryStatsHolder.set(stats);
+        try {
+            entityManager.flush();
+        } finally {
+            QueryStatsHolder.clear();
+        }
+    }
+
+    private void clearCaches() {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(this.entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        this.entityManagerFactory.getCache().evictAll();
+        for (String cacheName : this.cacheManager.getCacheNames()) {
+            Objects.requireNonNull(this.cacheManager.getCache(cacheName)).clear();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scenario {
+        RequestBuilder seed(int size) throws Exception;
+    }
+}
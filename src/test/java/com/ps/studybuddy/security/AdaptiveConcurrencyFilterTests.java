@@ -0,0 +1,95 @@
+package com.ps.studybuddy.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.security.filter.AdaptiveConcurrencyFilter;
+import com.ps.studybuddy.security.filter.Criticality;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyFilterTests {
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyFilter filter;
+    private final List<MockAsyncContext> heldRequests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        // a limit of 4: 2 sheddable, 3 default and 4 critical requests in flight
+        this.filter = new AdaptiveConcurrencyFilter(new ObjectMapper(), this.meterRegistry, true, 4, 4, 4);
+    }
+
+    @Test
+    void shedsTheLowerClassesFirst() throws Exception {
+        assertThat(hold("POST", "/groups/join/1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(hold("POST", "/groups/join/2").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse shed = hold("POST", "/groups/create");
+        assertThat(shed.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        assertThat(hold("GET", "/groups").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(hold("GET", "/groups").getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(hold("POST", "/login").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(hold("POST", "/login").getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+
+        assertThat(rejected(Criticality.SHEDDABLE)).isEqualTo(1);
+        assertThat(rejected(Criticality.DEFAULT)).isEqualTo(1);
+        assertThat(rejected(Criticality.CRITICAL)).isEqualTo(1);
+    }
+
+    @Test
+    void batchLookupIsShedLikeTheOtherReads() throws Exception {
+        hold("POST", "/groups/join/1");
+        hold("POST", "/groups/join/2");
+
+        assertThat(hold("POST", "/groups/create").getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(hold("POST", "/groups/batch").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void releasesTheSlotWhenTheAsyncRequestCompletes() throws Exception {
+        hold("POST", "/groups/join/1");
+        hold("POST", "/groups/join/2");
+        assertThat(inFlight()).isEqualTo(2);
+
+        for (MockAsyncContext asyncContext : this.heldRequests) {
+            asyncContext.complete();
+        }
+
+        assertThat(inFlight()).isZero();
+        assertThat(hold("POST", "/groups/create").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    /**
+     * Sends a request that stays in flight until its async context completes
+     */
+    private MockHttpServletResponse hold(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, (servletRequest, servletResponse) ->
+                this.heldRequests.add((MockAsyncContext) ((HttpServletRequest) servletRequest).startAsync(servletRequest, servletResponse)));
+        return response;
+    }
+
+    private double rejected(Criticality criticality) {
+        return this.meterRegistry.get("concurrency.limit.rejected").tag("criticality", criticality.name())
+                .counter().count();
+    }
+
+    private double inFlight() {
+        return this.meterRegistry.get("concurrency.limit.in.flight").gauge().value();
+    }
+}
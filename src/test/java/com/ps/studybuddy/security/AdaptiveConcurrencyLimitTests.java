@@ -0,0 +1,101 @@
+package com.ps.studybuddy.security;
+
+import com.ps.studybuddy.security.utility.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTests {
+    private static final long BASELINE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void growsWhileTheLatencyStaysAtTheBaseline() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100);
+
+        releaseBusy(limit, BASELINE_RTT, 50);
+
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void staysWithinTheMaximum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 30);
+
+        releaseBusy(limit, BASELINE_RTT, 500);
+
+        assertThat(limit.getLimit()).isEqualTo(30);
+    }
+
+    @Test
+    void shrinksWhenRequestsStartQueueing() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100);
+        releaseBusy(limit, BASELINE_RTT, 50);
+        int grown = limit.getLimit();
+
+        releaseBusy(limit, 5 * BASELINE_RTT, 30);
+
+        assertThat(limit.getLimit()).isLessThan(grown / 2);
+    }
+
+    @Test
+    void doesNotGrowFromRequestsThatLeftMostOfTheLimitUnused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(BASELINE_RTT, 0, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffOnFailures() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100);
+
+        limit.tryAcquire(1.0);
+        limit.release(BASELINE_RTT, 10, true);
+
+        assertThat(limit.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void staysWithinTheMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(BASELINE_RTT, 10, true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void admitsEveryClassUpToItsShareOfTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire(0.5)).isEqualTo(i);
+        }
+        assertThat(limit.tryAcquire(0.5)).isEqualTo(-1);
+        for (int i = 5; i < 10; i++) {
+            assertThat(limit.tryAcquire(1.0)).isEqualTo(i);
+        }
+        assertThat(limit.tryAcquire(1.0)).isEqualTo(-1);
+        assertThat(limit.getInFlight()).isEqualTo(10);
+    }
+
+    /**
+     * Releases requests that were admitted while the limit was fully used
+     */
+    private static void releaseBusy(AdaptiveConcurrencyLimit limit, long rttNanos, int requests) {
+        for (int i = 0; i < requests; i++) {
+            int inFlightAtStart = limit.getLimit();
+            limit.tryAcquire(Double.MAX_VALUE);
+            limit.release(rttNanos, inFlightAtStart, false);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ps.studybuddy.security;
+
+import com.ps.studybuddy.security.utility.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+    @Test
+    void reportsEveryAddedValue() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.001);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("token:" + i));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("token:" + i))).isTrue();
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheSizedProbability() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.001);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("token:" + i));
+
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("other:" + i)).count();
+
+        // 0.001 of 100_000 is 100, the bound leaves room for the variance of the hash
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void reportsValuesAddedConcurrently() throws Exception {
+        BloomFilter filter = BloomFilter.create(40_000, 0.001);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> adds = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread * 10_000;
+                adds.add(executor.submit(() -> IntStream.range(offset, offset + 10_000)
+                        .forEach(i -> filter.add("subject:" + i))));
+            }
+            for (Future<?> add : adds) {
+                add.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(IntStream.range(0, 40_000).allMatch(i -> filter.mightContain("subject:" + i))).isTrue();
+    }
+}
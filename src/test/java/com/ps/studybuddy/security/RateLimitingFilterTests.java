@@ -0,0 +1,77 @@
+package com.ps.studybuddy.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.security.filter.RateLimitingFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitingFilterTests {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void rejectsRequestsOverTheRouteBudgetWithRetryAfter() throws Exception {
+        RateLimitingFilter filter = new RateLimitingFilter(this.objectMapper, this.meterRegistry, true);
+
+        // the user-import budget allows a burst of 2, then one request every 30 seconds
+        assertThat(importUsers(filter, "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(importUsers(filter, "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = importUsers(filter, "10.0.0.1", chain);
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isIn("29", "30");
+        assertThat(this.objectMapper.readTree(rejected.getContentAsString()).get("httpStatusCode").asInt())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(chain.getRequest()).isNull();
+        assertThat(this.meterRegistry.get("rate.limit.rejected").tag("route", "user-import").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void keepsASeparateBudgetPerCaller() throws Exception {
+        RateLimitingFilter filter = new RateLimitingFilter(this.objectMapper, this.meterRegistry, true);
+        importUsers(filter, "10.0.0.1");
+        importUsers(filter, "10.0.0.1");
+
+        assertThat(importUsers(filter, "10.0.0.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(importUsers(filter, "10.0.0.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void letsEveryRequestThroughWhenDisabled() throws Exception {
+        RateLimitingFilter filter = new RateLimitingFilter(this.objectMapper, this.meterRegistry, false);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(importUsers(filter, "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    private MockHttpServletResponse importUsers(RateLimitingFilter filter, String address) throws Exception {
+        return importUsers(filter, address, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse importUsers(RateLimitingFilter filter, String address, MockFilterChain chain)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/import");
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
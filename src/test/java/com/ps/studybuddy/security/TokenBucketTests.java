@@ -0,0 +1,55 @@
+package com.ps.studybuddy.security;
+
+import com.ps.studybuddy.security.utility.RateLimitBudget;
+import com.ps.studybuddy.security.utility.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+    // a burst of 3 requests, then one request per second
+    private static final RateLimitBudget BUDGET = new RateLimitBudget("test", null, "/**", 3, 60);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 1_000 * SECOND;
+
+    @Test
+    void allowsABurstOfCapacityRequests() {
+        TokenBucket bucket = new TokenBucket(BUDGET, START);
+
+        assertThat(bucket.tryConsume(START)).isZero();
+        assertThat(bucket.tryConsume(START)).isZero();
+        assertThat(bucket.tryConsume(START)).isZero();
+        assertThat(bucket.tryConsume(START)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(BUDGET, START);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(START);
+        }
+
+        assertThat(bucket.tryConsume(START + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryConsume(START + SECOND)).isZero();
+        assertThat(bucket.tryConsume(START + SECOND)).isEqualTo(SECOND);
+        assertThat(bucket.tryConsume(START + 3 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(START + 3 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(START + 3 * SECOND)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void doesNotSaveUpMoreThanCapacityTokens() {
+        TokenBucket bucket = new TokenBucket(BUDGET, START);
+        long later = START + 60 * SECOND;
+
+        assertThat(bucket.isFull(later)).isTrue();
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(later)).isZero();
+        }
+        assertThat(bucket.tryConsume(later)).isEqualTo(SECOND);
+        assertThat(bucket.isFull(later)).isFalse();
+        assertThat(bucket.isFull(later + 3 * SECOND)).isTrue();
+    }
+}
@@ -0,0 +1,157 @@
+package com.ps.studybuddy.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ps.studybuddy.cache.GroupDetailsCache;
+import com.ps.studybuddy.cache.SingleFlight;
+import com.ps.studybuddy.domain.dtos.FieldSelection;
+import com.ps.studybuddy.domain.dtos.GroupDetailsDTO;
+import com.ps.studybuddy.domain.repositories.GroupMemberRepository;
+import com.ps.studybuddy.domain.repositories.GroupRepository;
+import com.ps.studybuddy.exception.domain.InvalidFieldsException;
+import com.ps.studybuddy.exception.handler.ExceptionHandling;
+import com.ps.studybuddy.web.controllers.GroupController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.ps.studybuddy.services.GroupService.GROUP_DETAILS_FIELDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FieldSelectionTests {
+    private static final UUID GROUP_ID = UUID.randomUUID();
+
+    private GroupRepository groupRepository;
+    private GroupMemberRepository groupMemberRepository;
+    private GroupDetailsCache groupDetailsCache;
+    private GroupService groupService;
+
+    @BeforeEach
+    void setUp() {
+        this.groupRepository = mock(GroupRepository.class);
+        this.groupMemberRepository = mock(GroupMemberRepository.class);
+        this.groupDetailsCache = mock(GroupDetailsCache.class);
+        this.groupService = new GroupService(this.groupRepository, null, this.groupMemberRepository, null, null,
+                null, null, null, null, this.groupDetailsCache);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " "})
+    void missingListSelectsEveryField(String fields) throws Exception {
+        FieldSelection selection = FieldSelection.parse(fields, GROUP_DETAILS_FIELDS);
+
+        assertThat(selection.isAll()).isTrue();
+        assertThat(FieldSelection.parse(null, GROUP_DETAILS_FIELDS).isAll()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {",", " , ,"})
+    void emptyListSelectsOnlyTheId(String fields) throws Exception {
+        FieldSelection selection = FieldSelection.parse(fields, GROUP_DETAILS_FIELDS);
+
+        assertThat(selection.isAll()).isFalse();
+        assertThat(selection.includes(FieldSelection.ID_FIELD)).isTrue();
+        assertThat(selection.includes("name")).isFalse();
+    }
+
+    @Test
+    void selectsTheListedFieldsAndTheId() throws Exception {
+        FieldSelection selection = FieldSelection.parse(" name,memberCount ,", GROUP_DETAILS_FIELDS);
+
+        assertThat(selection.includes(FieldSelection.ID_FIELD)).isTrue();
+        assertThat(selection.includes("name")).isTrue();
+        assertThat(selection.includes("memberCount")).isTrue();
+        assertThat(selection.includes("members")).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertThatThrownBy(() -> FieldSelection.parse("name,password", GROUP_DETAILS_FIELDS))
+                .isInstanceOf(InvalidFieldsException.class)
+                .hasMessageContaining("password");
+        // the fields of the details are not all fields of the summary
+        assertThatThrownBy(() -> FieldSelection.parse("members", GroupService.GROUP_FIELDS))
+                .isInstanceOf(InvalidFieldsException.class);
+    }
+
+    @Test
+    void unknownFieldIsABadRequest() throws Exception {
+        mockMvc().perform(get("/groups/{id}", GROUP_ID).param("fields", "name,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("password")));
+        verifyNoInteractions(this.groupRepository);
+    }
+
+    @Test
+    void cachedDetailsAreReusedForASelection() throws Exception {
+        GroupDetailsDTO cached = details();
+        when(this.groupDetailsCache.getIfPresent(GROUP_ID)).thenReturn(cached);
+
+        GroupDetailsDTO dto = this.groupService.findById(GROUP_ID,
+                FieldSelection.parse("name", GROUP_DETAILS_FIELDS));
+
+        assertThat(dto).isSameAs(cached);
+        verifyNoInteractions(this.groupRepository, this.groupMemberRepository);
+    }
+
+    @Test
+    void cachedDetailsAreFilteredToTheSelection() throws Exception {
+        when(this.groupDetailsCache.getIfPresent(GROUP_ID)).thenReturn(details());
+
+        mockMvc().perform(get("/groups/{id}", GROUP_ID).param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(GROUP_ID.toString()))
+                .andExpect(jsonPath("$.name").value("Algebra"))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.memberCount").doesNotExist());
+        verify(this.groupDetailsCache).getIfPresent(GROUP_ID);
+    }
+
+    @Test
+    void uncachedSelectionIsLoadedWithoutTheUnselectedAssociations() throws Exception {
+        when(this.groupRepository.findByIdFetching(any(UUID.class), anySet()))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> this.groupService.findById(GROUP_ID,
+                FieldSelection.parse("name", GROUP_DETAILS_FIELDS)))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(this.groupDetailsCache).getIfPresent(GROUP_ID);
+        verifyNoInteractions(this.groupMemberRepository);
+    }
+
+    private MockMvc mockMvc() {
+        @SuppressWarnings("unchecked")
+        SingleFlight<UUID, GroupDetailsDTO> singleFlight = mock(SingleFlight.class);
+        return MockMvcBuilders
+                .standaloneSetup(new GroupController(this.groupService, singleFlight, this.groupDetailsCache))
+                .setControllerAdvice(new ExceptionHandling())
+                .build();
+    }
+
+    private static GroupDetailsDTO details() {
+        return GroupDetailsDTO.builder()
+                .id(GROUP_ID)
+                .name("Algebra")
+                .description("Linear algebra exam prep")
+                .memberCount(3)
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package com.ps.studybuddy.services;
+
+import com.ps.studybuddy.cache.GroupDetailsCache;
+import com.ps.studybuddy.cache.SingleFlight;
+import com.ps.studybuddy.domain.dtos.GroupDetailsDTO;
+import com.ps.studybuddy.domain.dtos.GroupMemberPageDTO;
+import com.ps.studybuddy.domain.projections.GroupMemberView;
+import com.ps.studybuddy.domain.repositories.GroupMemberRepository;
+import com.ps.studybuddy.domain.repositories.GroupRepository;
+import com.ps.studybuddy.exception.domain.InvalidCursorException;
+import com.ps.studybuddy.exception.handler.ExceptionHandling;
+import com.ps.studybuddy.web.controllers.GroupController;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ps.studybuddy.services.GroupService.MAX_MEMBER_PAGE_SIZE;
+import static com.ps.studybuddy.services.GroupService.MEMBER_ORDER_JOINED_DATE;
+import static com.ps.studybuddy.services.GroupService.MEMBER_ORDER_USERNAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GroupMemberPagingTests {
+    private static final UUID GROUP_ID = UUID.randomUUID();
+
+    private GroupRepository groupRepository;
+    private GroupMemberRepository groupMemberRepository;
+    private GroupService groupService;
+
+    @BeforeEach
+    void setUp() {
+        this.groupRepository = mock(GroupRepository.class);
+        this.groupMemberRepository = mock(GroupMemberRepository.class);
+        this.groupService = new GroupService(this.groupRepository, null, this.groupMemberRepository, null, null,
+                null, null, null, null, null);
+    }
+
+    @Test
+    void joinedDateCursorStartsTheNextPageAfterTheLastMember() throws Exception {
+        List<GroupMemberView> members = members("ana", "bob", "cid");
+        when(this.groupMemberRepository.findMembersByJoinedDate(GROUP_ID, PageRequest.of(0, 3))).thenReturn(members);
+
+        GroupMemberPageDTO page = this.groupService.findMembersOfGroup(GROUP_ID, MEMBER_ORDER_JOINED_DATE, null, 2);
+        assertThat(page.getMembers()).extracting("username").containsExactly("ana", "bob");
+        assertThat(page.getNextCursor()).isNotNull();
+
+        this.groupService.findMembersOfGroup(GROUP_ID, MEMBER_ORDER_JOINED_DATE, page.getNextCursor(), 2);
+        verify(this.groupMemberRepository).findMembersByJoinedDateAfter(GROUP_ID, members.get(1).getJoinedDate(),
+                members.get(1).getId(), PageRequest.of(0, 3));
+    }
+
+    @Test
+    void usernameCursorKeepsUsernamesWithTheSeparator() throws Exception {
+        when(this.groupMemberRepository.findMembersByUsername(GROUP_ID, PageRequest.of(0, 2)))
+                .thenReturn(members("a|b", "c"));
+
+        GroupMemberPageDTO page = this.groupService.findMembersOfGroup(GROUP_ID, MEMBER_ORDER_USERNAME, null, 1);
+        this.groupService.findMembersOfGroup(GROUP_ID, MEMBER_ORDER_USERNAME, page.getNextCursor(), 1);
+
+        verify(this.groupMemberRepository).findMembersByUsernameAfter(GROUP_ID, "a|b", PageRequest.of(0, 2));
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        when(this.groupMemberRepository.findMembersByJoinedDate(eq(GROUP_ID), any(Pageable.class)))
+                .thenReturn(members("ana", "bob"));
+
+        GroupMemberPageDTO page = this.groupService.findMembersOfGroup(GROUP_ID, MEMBER_ORDER_JOINED_DATE, null, 2);
+
+        assertThat(page.getMembers()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pageSizeIsCapped() throws Exception {
+        when(this.groupRepository.existsById(GROUP_ID)).thenReturn(true);
+        this.groupService.findMembersOfGroup(GROUP_ID, MEMBER_ORDER_JOINED_DATE, null, 10_000);
+        verify(this.groupMemberRepository).findMembersByJoinedDate(GROUP_ID, PageRequest.of(0, MAX_MEMBER_PAGE_SIZE + 1));
+
+        this.groupService.findMembersOfGroup(GROUP_ID, MEMBER_ORDER_USERNAME, null, 0);
+        verify(this.groupMemberRepository).findMembersByUsername(GROUP_ID, PageRequest.of(0, 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor!", "joinedDate", "joinedDate|yesterday|x", "joinedDate|1|not-a-uuid",
+            "username|ana"})
+    void rejectsTamperedCursors(String position) {
+        String cursor = position.contains("|") || position.equals("joinedDate") ? encode(position) : position;
+
+        assertThatThrownBy(() -> this.groupService.findMembersOfGroup(GROUP_ID, MEMBER_ORDER_JOINED_DATE, cursor, 20))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void tamperedCursorIsABadRequest() throws Exception {
+        @SuppressWarnings("unchecked")
+        SingleFlight<UUID, GroupDetailsDTO> singleFlight = mock(SingleFlight.class);
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new GroupController(this.groupService, singleFlight, mock(GroupDetailsCache.class)))
+                .setControllerAdvice(new ExceptionHandling())
+                .build();
+
+        mockMvc.perform(get("/groups/members/{groupId}", GROUP_ID).param("cursor", encode("joinedDate|1|x")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/groups/members/{groupId}", GROUP_ID).param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<GroupMemberView> members(String... usernames) {
+        long joined = 1_650_000_000_000L;
+        GroupMemberView[] members = new GroupMemberView[usernames.length];
+        for (int i = 0; i < usernames.length; i++) {
+            members[i] = new Member(UUID.randomUUID(), usernames[i], new Date(joined + i * 1_000L));
+        }
+        return Arrays.asList(members);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Member implements GroupMemberView {
+        private final UUID id;
+        private final String username;
+        private final Date joinedDate;
+
+        @Override
+        public UUID getGroupId() {
+            return GROUP_ID;
+        }
+
+        @Override
+        public String getFirstName() {
+            return this.username;
+        }
+
+        @Override
+        public String getLastName() {
+            return this.username;
+        }
+
+        @Override
+        public String getEmail() {
+            return this.username + "@example.com";
+        }
+
+        @Override
+        public String getAvatarColor() {
+            return null;
+        }
+
+        @Override
+        public String getRole() {
+            return "ROLE_USER";
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public boolean isNotLocked() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ps.studybuddy.services;
+
+import com.ps.studybuddy.domain.entities.RevokedSubject;
+import com.ps.studybuddy.domain.repositories.RevokedSubjectRepository;
+import com.ps.studybuddy.domain.repositories.RevokedTokenRepository;
+import com.ps.studybuddy.security.revocation.TokenRevocation;
+import com.ps.studybuddy.security.revocation.TokenRevocationBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTests {
+    private RevokedTokenRepository revokedTokenRepository;
+    private RevokedSubjectRepository revokedSubjectRepository;
+    private TokenRevocationBroadcaster broadcaster;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        this.revokedTokenRepository = mock(RevokedTokenRepository.class);
+        this.revokedSubjectRepository = mock(RevokedSubjectRepository.class);
+        this.broadcaster = mock(TokenRevocationBroadcaster.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.tokenRevocationService = new TokenRevocationService(this.revokedTokenRepository,
+                this.revokedSubjectRepository, mock(PlatformTransactionManager.class), this.broadcaster,
+                this.meterRegistry);
+    }
+
+    @Test
+    void acceptsTokensThatWereNeverRevokedWithoutReadingTheDatabase() {
+        assertThat(this.tokenRevocationService.isRevoked("jti", "student", new Date())).isFalse();
+
+        verifyNoInteractions(this.revokedTokenRepository, this.revokedSubjectRepository);
+        assertThat(checks("negative")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsARevokedToken() {
+        this.tokenRevocationService.revokeToken("jti", "student", new Date(System.currentTimeMillis() + 60_000));
+        when(this.revokedTokenRepository.existsById("jti")).thenReturn(true);
+
+        assertThat(this.tokenRevocationService.isRevoked("jti", "student", new Date())).isTrue();
+        assertThat(this.tokenRevocationService.isRevoked("other-jti", "student", new Date())).isFalse();
+        assertThat(checks("revoked")).isEqualTo(1);
+    }
+
+    @Test
+    void acceptsATokenTheFilterReportsButTheDatabaseDoesNot() {
+        this.tokenRevocationService.revokeToken("jti", "student", new Date(System.currentTimeMillis() + 60_000));
+        when(this.revokedTokenRepository.existsById("jti")).thenReturn(false);
+
+        assertThat(this.tokenRevocationService.isRevoked("jti", "student", new Date())).isFalse();
+        assertThat(checks("false-positive")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsTokensIssuedBeforeTheSecondOfTheSubjectRevocation() {
+        this.tokenRevocationService.revokeSubject("student");
+        ArgumentCaptor<RevokedSubject> saved = ArgumentCaptor.forClass(RevokedSubject.class);
+        verify(this.revokedSubjectRepository).save(saved.capture());
+        long revokedSecond = saved.getValue().getRevokedBefore().getTime() / 1000 * 1000;
+
+        assertThat(this.tokenRevocationService.isRevoked("jti", "student", new Date(revokedSecond - 1000))).isTrue();
+        assertThat(this.tokenRevocationService.isRevoked(null, "student", new Date(revokedSecond - 1000))).isTrue();
+        // iat of a token issued in the second of the revocation, e.g. on the next login
+        assertThat(this.tokenRevocationService.isRevoked("jti", "student", new Date(revokedSecond))).isFalse();
+        assertThat(this.tokenRevocationService.isRevoked("jti", "student", new Date(revokedSecond + 1000))).isFalse();
+        // the subject is checked in memory, the later tokens of the user do not read the database
+        verifyNoInteractions(this.revokedTokenRepository);
+    }
+
+    @Test
+    void broadcastsTheRevocations() {
+        Date expiresDate = new Date(System.currentTimeMillis() + 60_000);
+        this.tokenRevocationService.revokeToken("jti", "student", expiresDate);
+        this.tokenRevocationService.revokeSubject("teacher");
+
+        ArgumentCaptor<TokenRevocation> broadcast = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(this.broadcaster, times(2)).broadcast(broadcast.capture());
+        assertThat(broadcast.getAllValues().get(0).getTokenId()).isEqualTo("jti");
+        assertThat(broadcast.getAllValues().get(1).getSubject()).isEqualTo("teacher");
+        assertThat(broadcast.getAllValues().get(1).getRevokedBefore()).isNotNull();
+    }
+
+    @Test
+    void appliesTheRevocationsOfTheOtherNodes() {
+        Date revokedBefore = new Date(System.currentTimeMillis() + 5_000);
+        Date expiresDate = new Date(System.currentTimeMillis() + 60_000);
+        this.tokenRevocationService.apply(TokenRevocation.builder()
+                .subject("student")
+                .revokedBefore(revokedBefore)
+                .expiresDate(expiresDate)
+                .build());
+        this.tokenRevocationService.apply(TokenRevocation.builder()
+                .tokenId("jti")
+                .subject("teacher")
+                .expiresDate(expiresDate)
+                .build());
+        when(this.revokedTokenRepository.existsById("jti")).thenReturn(true);
+
+        assertThat(this.tokenRevocationService.isRevoked(null, "student", new Date())).isTrue();
+        assertThat(this.tokenRevocationService.isRevoked("jti", "teacher", new Date())).isTrue();
+        verifyNoInteractions(this.revokedSubjectRepository);
+    }
+
+    @Test
+    void forgetsExpiredSubjectRevocationsOnRefresh() {
+        Date past = new Date(System.currentTimeMillis() - 1_000);
+        this.tokenRevocationService.apply(TokenRevocation.builder()
+                .subject("student")
+                .revokedBefore(new Date(System.currentTimeMillis() + 5_000))
+                .expiresDate(past)
+                .build());
+        when(this.revokedTokenRepository.findActiveTokenIds(any())).thenReturn(Collections.emptyList());
+        when(this.revokedSubjectRepository.findActive(any())).thenReturn(Collections.emptyList());
+
+        this.tokenRevocationService.refreshRevocations();
+
+        assertThat(this.tokenRevocationService.isRevoked(null, "student", new Date())).isFalse();
+    }
+
+    @Test
+    void loadsTheRevocationsOfTheOtherNodes() {
+        when(this.revokedTokenRepository.findActiveTokenIds(any())).thenReturn(Collections.singletonList("jti"));
+        when(this.revokedSubjectRepository.findActive(any())).thenReturn(List.of(RevokedSubject.builder()
+                .subject("teacher")
+                .revokedBefore(new Date(System.currentTimeMillis() + 5_000))
+                .expiresDate(new Date(System.currentTimeMillis() + 60_000))
+                .build()));
+        when(this.revokedTokenRepository.existsById("jti")).thenReturn(true);
+
+        this.tokenRevocationService.loadRevocations();
+
+        assertThat(this.tokenRevocationService.isRevoked("jti", "student", new Date())).isTrue();
+        assertThat(this.tokenRevocationService.isRevoked(null, "teacher", new Date())).isTrue();
+    }
+
+    private double checks(String result) {
+        return this.meterRegistry.get("token.revocation.checks").tag("result", result).counter().count();
+    }
+}